@@ -0,0 +1,52 @@
+package backend;
+
+import java.util.function.DoubleUnaryOperator;
+
+/**
+ * Metodo da bisseccao: divide o intervalo ao meio e fica com a metade que
+ * tem troca de sinal. Uma avaliacao por iteracao e convergencia linear
+ * (o intervalo cai pela metade a cada passo), independente da forma de f.
+ */
+public class Bisseccao implements MetodoRaiz {
+
+    @Override
+    public String nome() {
+        return "Bisseccao";
+    }
+
+    @Override
+    public String toString() {
+        return nome();
+    }
+
+    @Override
+    public ResultadoRaiz resolver(DoubleUnaryOperator f, DoubleUnaryOperator df,
+                                  double a, double b, double fa, double fb, double tol, int iterMax) {
+        MetodoRaiz.exigirTroca(fa, fb);
+        double lo = Math.min(a, b), hi = Math.max(a, b);
+        double flo = lo == a ? fa : fb;
+        double m = Double.NaN, fm = Double.NaN;
+        for (int iter = 0; iter < iterMax; iter++) {
+            m = lo + 0.5 * (hi - lo);
+            fm = f.applyAsDouble(m);
+            int avaliacoes = iter + 1;
+            if (!Double.isFinite(fm)) {
+                return new ResultadoRaiz(m, fm, lo, hi, iter + 1, avaliacoes, false);
+            }
+            if (Math.abs(fm) <= tol) {
+                return new ResultadoRaiz(m, fm, lo, hi, iter + 1, avaliacoes, true);
+            }
+            if ((fm < 0) == (flo < 0)) {
+                lo = m;
+                flo = fm;
+            } else {
+                hi = m;
+            }
+            // m e uma ponta do novo intervalo: a raiz esta a menos de hi - lo
+            if (hi - lo <= tol) {
+                return new ResultadoRaiz(m, fm, lo, hi, iter + 1, avaliacoes, true);
+            }
+        }
+        return new ResultadoRaiz(m, fm, lo, hi, iterMax, iterMax, false);
+    }
+}
@@ -5,6 +5,9 @@ import java.awt.*;
 import java.awt.event.ActionEvent;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.function.DoubleUnaryOperator;
 
 /**
  * Metodo da Bisseccao com front-end Swing e avaliador de expressoes embutido.
@@ -16,11 +19,15 @@ import java.util.List;
 public class BisseccaoSwing extends JFrame {
 
     private JTextField funcField, tolField, resultadoField;
+    private JComboBox<MetodoRaiz> metodoBox;
+    private JButton calcBtn;
+    private JProgressBar progresso;
+    private BuscaRaizes busca; // busca em andamento (ou a ultima)
 
     public BisseccaoSwing() {
         setTitle("Metodo da Bisseccao");
         setDefaultCloseOperation(EXIT_ON_CLOSE);
-        setSize(520, 240);
+        setSize(520, 310);
         setLayout(new GridBagLayout());
 
         GridBagConstraints c = new GridBagConstraints();
@@ -39,18 +46,33 @@ public class BisseccaoSwing extends JFrame {
         tolField = new JTextField("0.001"); // tolerancia padrao
         c.gridx = 1; c.gridy = 1; c.weightx = 1; add(tolField, c);
 
-        JButton calcBtn = new JButton("Calcular");
+        JLabel lm = new JLabel("Metodo:");
+        c.gridx = 0; c.gridy = 2; c.weightx = 0; add(lm, c);
+
+        metodoBox = new JComboBox<>(MetodoRaiz.disponiveis());
+        c.gridx = 1; c.gridy = 2; c.weightx = 1; add(metodoBox, c);
+
+        calcBtn = new JButton("Calcular");
         calcBtn.addActionListener(this::calcular);
-        c.gridx = 0; c.gridy = 2; c.gridwidth = 2; c.weightx = 1; add(calcBtn, c);
+        c.gridx = 0; c.gridy = 3; c.gridwidth = 2; c.weightx = 1; add(calcBtn, c);
 
         resultadoField = new JTextField();
         resultadoField.setEditable(false);
-        c.gridx = 0; c.gridy = 3; c.gridwidth = 2; add(resultadoField, c);
+        c.gridx = 0; c.gridy = 4; c.gridwidth = 2; add(resultadoField, c);
+
+        progresso = new JProgressBar(0, 100);
+        progresso.setStringPainted(true);
+        c.gridx = 0; c.gridy = 5; c.gridwidth = 2; add(progresso, c);
 
         setLocationRelativeTo(null);
     }
 
+    // Inicia a busca em segundo plano; com uma busca em andamento, o botao a cancela
     private void calcular(ActionEvent e) {
+        if (busca != null && !busca.isDone()) {
+            busca.cancelar();
+            return;
+        }
         try {
             String func = funcField.getText().trim();
             double tol = Double.parseDouble(tolField.getText().trim());
@@ -59,23 +81,41 @@ public class BisseccaoSwing extends JFrame {
                 return;
             }
 
-            Expr expr = new Expr(func);
-            double inicio = -100, fim = 100;
+            Expr expr = CacheExpr.global().obter(func);
             int iterMax = 1000;
-            List<String> raizes = new ArrayList<>();
-
-            // Passos de varredura: tenta grosso (1.0) e refina (0.1) se nada for achado
-            double[] passos = {1.0, 0.1};
-            for (double passo : passos) {
-                escanearIntervalo(expr, inicio, fim, passo, tol, iterMax, raizes);
-                if (!raizes.isEmpty()) break;
-            }
+            MetodoRaiz metodo = (MetodoRaiz) metodoBox.getSelectedItem();
+
+            // Polinomios: todas as raizes reais (Sturm); senao varredura adaptativa em [-100,100]
+            busca = new BuscaRaizes(expr, metodo, tol, iterMax) {
+                private int achadas;
+
+                // Raizes na ordem em que sao achadas: so a contagem e a ultima; done mostra a lista final
+                @Override
+                protected void process(List<ResultadoRaiz> lote) {
+                    achadas += lote.size();
+                    resultadoField.setText("Buscando...  " + achadas + " raiz(es), ultima: "
+                            + lote.get(lote.size() - 1));
+                }
 
-            if (raizes.isEmpty()) {
-                resultadoField.setText("Nenhuma raiz encontrada em [-100,100].");
-            } else {
-                resultadoField.setText(String.join("  |  ", raizes));
-            }
+                @Override
+                protected void done() {
+                    mostrarResultado(this);
+                }
+            };
+            busca.addPropertyChangeListener(ev -> {
+                if ("progress".equals(ev.getPropertyName())) progresso.setValue((Integer) ev.getNewValue());
+            });
+            progresso.setValue(0);
+            resultadoField.setText("Buscando...");
+            calcBtn.setText("Cancelar");
+            busca.execute();
+        } catch (ErroExpressao ex) {
+            resultadoField.setText("Erro na funcao: " + ex.getMessage());
+            // leva o cursor ao caractere do erro (o texto foi lido com trim)
+            String texto = funcField.getText();
+            int desloc = texto.indexOf(texto.trim());
+            funcField.requestFocusInWindow();
+            funcField.setCaretPosition(Math.min(texto.length(), desloc + ex.getPosicao()));
         } catch (NumberFormatException ex) {
             resultadoField.setText("Erro: tolerancia invalida.");
         } catch (Exception ex) {
@@ -83,64 +123,86 @@ public class BisseccaoSwing extends JFrame {
         }
     }
 
-    private void escanearIntervalo(Expr expr, double inicio, double fim, double passo,
-                                   double tol, int iterMax, List<String> raizes) {
-        double xPrev = inicio;
-        double fPrev = expr.safeEval(xPrev);
-
-        for (double x = inicio + passo; x <= fim + 1e-12; x += passo) {
-            double f = expr.safeEval(x);
-
-            // pular pontos invalidos
-            if (Double.isNaN(fPrev) || Double.isInfinite(fPrev)) {
-                xPrev = x; fPrev = f; continue;
+    // Resultado final de uma busca (thread de eventos)
+    private void mostrarResultado(BuscaRaizes b) {
+        calcBtn.setText("Calcular");
+        try {
+            List<String> raizes = new ArrayList<>();
+            for (ResultadoRaiz r : b.get()) {
+                raizes.add(r.toStringComTempo());
+            }
+            String texto;
+            if (raizes.isEmpty()) {
+                texto = b.isPolinomio() ? "O polinomio nao tem raizes reais." : "Nenhuma raiz encontrada em [-100,100].";
+            } else {
+                texto = String.join("  |  ", raizes)
+                        + "  |  " + b.getMetodo().nome() + ", avaliacoes de f: " + b.getAvaliacoes()
+                        + " pontuais + " + b.getAvaliacoesIntervalares() + " intervalares";
             }
-            if (Double.isNaN(f) || Double.isInfinite(f)) {
-                xPrev = x; fPrev = f; continue;
+            if (b.getMotivo() != null) {
+                texto = "Busca interrompida (" + b.getMotivo() + "): " + texto;
+            } else {
+                progresso.setValue(100);
             }
+            resultadoField.setText(texto);
+        } catch (ExecutionException ex) {
+            resultadoField.setText("Erro: " + ex.getCause().getMessage());
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
 
-            // Raizes "exatas" nos pontos de grade
-            if (Math.abs(fPrev) < 1e-12) {
-                raizes.add(String.format("Raiz exata: x = %.10f", xPrev));
-            }
-            if (Math.abs(f) < 1e-12) {
-                raizes.add(String.format("Raiz exata: x = %.10f", x));
+    // Varredura de passo fixo (referencia de VarreduraRaizes nos benchmarks)
+    static void escanearIntervalo(Expr expr, double inicio, double fim, double passo,
+                                  double tol, int iterMax, List<String> raizes) {
+        // Os testes de NaN/infinito abaixo dispensam o safeEval
+        DoubleUnaryOperator func = expr.compilar();
+        DoubleUnaryOperator derivada = expr.derivada().compilar();
+        double xPrev = inicio;
+        double fPrev = func.applyAsDouble(xPrev);
+
+        // A grade e avaliada em lote, bloco a bloco (mesmos pontos de x += passo)
+        double[] xs = new double[Expr.BLOCO_LOTE];
+        double[] fs = new double[Expr.BLOCO_LOTE];
+        double proximoX = inicio + passo;
+        while (proximoX <= fim + 1e-12) {
+            int pontos = 0;
+            while (pontos < xs.length && proximoX <= fim + 1e-12) {
+                xs[pontos++] = proximoX;
+                proximoX += passo;
             }
+            expr.evalMany(xs, fs, pontos);
 
-            // Mudanca de sinal => aplica bissecao no subintervalo [xPrev, x]
-            if (fPrev * f < 0) {
-                double a = xPrev, b = x;
-                int iter = 0;
-                double m = (a + b) / 2.0;
-                double fm;
-
-                // bissecao robusta
-                while (iter < iterMax) {
-                    m = (a + b) / 2.0;
-                    fm = expr.safeEval(m);
-                    if (Double.isNaN(fm) || Double.isInfinite(fm)) break;
-
-                    double largura = Math.abs(b - a) / 2.0;
-
-                    if (Math.abs(fm) <= tol || largura <= tol) {
-                        raizes.add(String.format("Intervalo: [%.8f, %.8f]  Raiz ~ %.10f  (iter: %d)",
-                                a, b, m, iter));
-                        break;
-                    }
+            for (int k = 0; k < pontos; k++) {
+                double x = xs[k];
+                double f = fs[k];
+
+                // pular pontos invalidos
+                if (Double.isNaN(fPrev) || Double.isInfinite(fPrev)) {
+                    xPrev = x; fPrev = f; continue;
+                }
+                if (Double.isNaN(f) || Double.isInfinite(f)) {
+                    xPrev = x; fPrev = f; continue;
+                }
 
-                    double fa = expr.safeEval(a);
-                    if (Double.isNaN(fa) || Double.isInfinite(fa)) break;
+                // Raizes "exatas" nos pontos de grade
+                if (Math.abs(fPrev) < 1e-12) {
+                    raizes.add(String.format("Raiz exata: x = %.10f", xPrev));
+                }
+                if (Math.abs(f) < 1e-12) {
+                    raizes.add(String.format("Raiz exata: x = %.10f", x));
+                }
 
-                    if (fa * fm < 0) {
-                        b = m;
-                    } else {
-                        a = m;
+                // Mudanca de sinal => refina em [xPrev, x] com Newton protegido por bisseccao
+                if (fPrev * f < 0) {
+                    ResultadoRaiz r = NewtonBisseccao.refinar(func, derivada, xPrev, x, fPrev, f, tol, iterMax);
+                    if (r.convergiu) {
+                        raizes.add(r.toString());
                     }
-                    iter++;
                 }
-            }
 
-            xPrev = x; fPrev = f;
+                xPrev = x; fPrev = f;
+            }
         }
     }
 
@@ -155,31 +217,213 @@ public class BisseccaoSwing extends JFrame {
     // - variavel x ou X
     // - constantes: pi, e
     // - funcoes: sin, cos, tan, sqrt, log(=ln), exp, abs, log10, sign, floor, ceil
-    static class Expr {
-        private final String s;
-        private int pos = -1, ch;
+    // O texto e analisado uma unica vez no construtor (Analisador) e vira uma arvore de
+    // NoExpr imutavel, ja simplificada (SimplificadorExpr); eval so percorre a
+    // arvore (sem alocar), entao a mesma instancia pode ser usada por varias threads.
+    static class Expr implements DoubleUnaryOperator {
+        private final NoExpr raiz;
+        private final ProgramaLote programaLote;
+        // Registros de evalMany, um conjunto por thread (reaproveitado entre chamadas)
+        private final ThreadLocal<double[][]> registrosLote;
+        private volatile DoubleUnaryOperator compilada; // criada por compilar()
+        private volatile Expr derivada;                 // criada por derivada()
 
         Expr(String raw) {
-            // normaliza: remove espacos, troca virgula por ponto
-            this.s = raw.replace(" ", "").replace(",", ".");
-            nextChar();
+            this(raw, true);
+        }
+
+        /**
+         * Analisa o texto; erros de sintaxe sao lancados aqui como
+         * ErroExpressao (com a posicao no texto original), nunca na avaliacao.
+         * simplificar = false mantem a arvore como foi digitada (comparacoes, benchmarks)
+         */
+        Expr(String raw, boolean simplificar) {
+            this(raw, simplificar, null);
+        }
+
+        private Expr(String raw, boolean simplificar, Map<String, Integer> variaveis) {
+            NoExpr r = new Analisador(raw, variaveis).analisar();
+            this.raiz = simplificar ? SimplificadorExpr.simplificar(r) : r;
+            this.programaLote = new ProgramaLote(raiz);
+            this.registrosLote = novosRegistros(programaLote);
+        }
+
+        /**
+         * Arvore simplificada de uma expressao em varias variaveis (ver
+         * ExprMulti). Os nomes sao identificadores (letra seguida de letras ou
+         * digitos, ex.: x1, y); nomes vizinhos precisam de operador (x*y, nao xy).
+         * @param variaveis nome -> indice da variavel
+         */
+        static NoExpr analisar(String raw, Map<String, Integer> variaveis) {
+            return new Expr(raw, true, variaveis).raiz;
+        }
+
+        /**
+         * Verifica a sintaxe sem lancar excecao.
+         * @return null se a expressao e valida; senao o erro, com a posicao
+         */
+        static ErroExpressao validar(String raw) {
+            try {
+                new Expr(raw, false);
+                return null;
+            } catch (ErroExpressao ex) {
+                return ex;
+            }
+        }
+
+        // normaliza: remove espacos, troca virgula por ponto (chave do CacheExpr)
+        static String normalizar(String raw) {
+            return raw.replace(" ", "").replace(",", ".");
+        }
+
+        // Expr a partir de uma arvore ja simplificada (ex.: derivada)
+        private Expr(NoExpr raiz) {
+            this.raiz = raiz;
+            this.programaLote = new ProgramaLote(raiz);
+            this.registrosLote = novosRegistros(programaLote);
+        }
+
+        private static ThreadLocal<double[][]> novosRegistros(ProgramaLote programa) {
+            return ThreadLocal.withInitial(() -> new double[programa.registros()][BLOCO_LOTE]);
+        }
+
+        /**
+         * Derivada simbolica f'(x) (ver DerivadaExpr), calculada na primeira
+         * chamada e guardada junto com esta expressao.
+         */
+        Expr derivada() {
+            Expr d = derivada;
+            if (d == null) {
+                d = new Expr(DerivadaExpr.derivar(raiz));
+                derivada = d;
+            }
+            return d;
         }
 
         double eval(double xVal) {
-            pos = -1; nextChar();
-            double v = parseExpression(xVal);
-            if (pos < s.length()) throw new RuntimeException("Entrada invalida em: '" + (char)ch + "'");
-            return v;
+            return raiz.eval(xVal);
+        }
+
+        @Override
+        public double applyAsDouble(double xVal) {
+            return raiz.eval(xVal);
+        }
+
+        // Tamanho do bloco da avaliacao em lote (alguns blocos cabem no cache L1)
+        static final int BLOCO_LOTE = 512;
+
+        /**
+         * Avaliacao em lote: out[i] = f(xs[i]). Mesmos valores de eval
+         * (infinitos inclusive), calculados operacao a operacao sobre blocos de
+         * pontos em vez de ponto a ponto (ver ProgramaLote).
+         */
+        void evalMany(double[] xs, double[] out) {
+            evalMany(xs, out, xs.length);
+        }
+
+        // Avalia apenas os n primeiros pontos de xs
+        void evalMany(double[] xs, double[] out, int n) {
+            if (n > xs.length || n > out.length) {
+                throw new IllegalArgumentException("xs e out devem ter pelo menos " + n + " posicoes.");
+            }
+            double[][] regs = registrosLote.get();
+            double[] resultado = regs[programaLote.resultado()];
+            for (int ini = 0; ini < n; ini += BLOCO_LOTE) {
+                int tam = Math.min(BLOCO_LOTE, n - ini);
+                programaLote.executar(xs, ini, tam, regs);
+                System.arraycopy(resultado, 0, out, ini, tam);
+            }
+        }
+
+        /**
+         * Avaliacao intervalar: um intervalo que contem f(x) para todo x em
+         * [x.inf, x.sup] (pode ser mais largo que a faixa exata). Nunca lanca
+         * excecao; VAZIO se f nao esta definida em nenhum ponto de x.
+         */
+        Intervalo evalIntervalo(Intervalo x) {
+            return raiz.evalIntervalo(x);
         }
 
         double safeEval(double xVal) {
-            try {
-                double v = eval(xVal);
-                if (Double.isInfinite(v) || Double.isNaN(v)) return Double.NaN;
-                return v;
-            } catch (RuntimeException ex) {
-                return Double.NaN;
+            double v = raiz.eval(xVal);
+            if (Double.isInfinite(v) || Double.isNaN(v)) return Double.NaN;
+            return v;
+        }
+
+        /**
+         * Versao compilada para bytecode (ver CompiladorExpr), gerada na primeira
+         * chamada. Se a JVM recusar a classe gerada, devolve o proprio Expr.
+         * Ao contrario de safeEval, devolve infinitos como estao.
+         */
+        DoubleUnaryOperator compilar() {
+            DoubleUnaryOperator f = compilada;
+            if (f == null) {
+                f = CompiladorExpr.compilar(raiz);
+                if (f == null) f = this;
+                compilada = f;
             }
+            return f;
+        }
+
+        /**
+         * Coeficientes c[0..d] (c[k] multiplica x^k) se f for um polinomio em
+         * x, com produtos e potencias expandidos; null caso contrario. Com eles
+         * RaizesPolinomio acha todas as raizes reais, sem limite de intervalo.
+         */
+        double[] polinomio() {
+            return SimplificadorExpr.expandirPolinomio(raiz);
+        }
+
+        NoExpr getArvore() {
+            return raiz;
+        }
+
+    }
+
+    // Analise do texto de uma Expr (descida recursiva). Guarda o estado da
+    // leitura, que so existe durante a analise: a Expr fica so com a arvore
+    // (campos finais e caches volateis) e pode ser compartilhada entre
+    // threads (CacheExpr).
+    private static final class Analisador {
+        private final Map<String, Integer> variaveis; // null: so a variavel x
+        private String fonte;  // texto original (posicoes dos erros)
+        private int[] origem;  // indice em s -> indice em fonte
+        private String s;
+        private int pos = -1, ch;
+
+        Analisador(String raw, Map<String, Integer> variaveis) {
+            this.variaveis = variaveis;
+            prepararTexto(raw);
+        }
+
+        // Arvore do texto inteiro, como foi digitado (sem simplificar)
+        NoExpr analisar() {
+            if (s.isEmpty()) throw new ErroExpressao(fonte, "Expressao vazia", 0);
+            nextChar();
+            NoExpr r = parseExpression();
+            if (pos < s.length()) throw erro("Entrada invalida: '" + (char) ch + "'", pos);
+            return r;
+        }
+
+        // Mesma normalizacao, guardando de onde veio cada caractere
+        private void prepararTexto(String raw) {
+            StringBuilder sb = new StringBuilder(raw.length());
+            int[] o = new int[raw.length() + 1];
+            for (int i = 0; i < raw.length(); i++) {
+                char c = raw.charAt(i);
+                if (c == ' ') continue;
+                o[sb.length()] = i;
+                sb.append(c == ',' ? '.' : c);
+            }
+            o[sb.length()] = raw.length();
+            this.fonte = raw;
+            this.origem = o;
+            this.s = sb.toString();
+        }
+
+        // Erro na posicao p de s, convertida para o texto original
+        private ErroExpressao erro(String motivo, int p) {
+            return new ErroExpressao(fonte, motivo, origem[Math.min(p, s.length())]);
         }
 
         private void nextChar() {
@@ -194,26 +438,26 @@ public class BisseccaoSwing extends JFrame {
         }
 
         // expression = term { (+|-) term }
-        private double parseExpression(double xVal) {
-            double v = parseTerm(xVal);
+        private NoExpr parseExpression() {
+            NoExpr v = parseTerm();
             for (;;) {
-                if (eat('+')) v += parseTerm(xVal);
-                else if (eat('-')) v -= parseTerm(xVal);
+                if (eat('+')) v = new NoExpr.Bin('+', v, parseTerm());
+                else if (eat('-')) v = new NoExpr.Bin('-', v, parseTerm());
                 else return v;
             }
         }
 
         // term = factor { (*|/|implicit*) factor }
-        private double parseTerm(double xVal) {
-            double v = parseFactor(xVal);
+        private NoExpr parseTerm() {
+            NoExpr v = parseFactor();
             for (;;) {
                 if (eat('*')) {
-                    v *= parseFactor(xVal);
+                    v = new NoExpr.Bin('*', v, parseFactor());
                 } else if (eat('/')) {
-                    v /= parseFactor(xVal);
+                    v = new NoExpr.Bin('/', v, parseFactor());
                 } else if (startsFactor()) {
                     // multiplicacao implicita
-                    v *= parseFactor(xVal);
+                    v = new NoExpr.Bin('*', v, parseFactor());
                 } else {
                     return v;
                 }
@@ -221,41 +465,63 @@ public class BisseccaoSwing extends JFrame {
         }
 
         // factor = (+|-) factor | number | x | const | func '(' expression ')' | '(' expression ')' | factor ^ factor
-        private double parseFactor(double xVal) {
-            if (eat('+')) return parseFactor(xVal); // +unario
-            if (eat('-')) return -parseFactor(xVal); // -unario
+        private NoExpr parseFactor() {
+            if (eat('+')) return parseFactor(); // +unario
+            if (eat('-')) return new NoExpr.Neg(parseFactor()); // -unario
 
-            double v;
+            NoExpr v;
             int startPos = this.pos;
 
             if (eat('(')) { // (expr)
-                v = parseExpression(xVal);
-                if (!eat(')')) throw new RuntimeException("Falta ')'");
+                v = parseExpression();
+                if (!eat(')')) throw erro("Falta ')'", pos);
             } else if ((ch >= '0' && ch <= '9') || ch == '.') { // numero
                 while ((ch >= '0' && ch <= '9') || ch == '.') nextChar();
-                v = Double.parseDouble(s.substring(startPos, this.pos));
-            } else if (ch == 'x' || ch == 'X') { // variavel x
+                String num = s.substring(startPos, this.pos);
+                try {
+                    v = new NoExpr.Const(Double.parseDouble(num));
+                } catch (NumberFormatException ex) {
+                    throw erro("Numero invalido: " + num, startPos);
+                }
+            } else if (variaveis == null && (ch == 'x' || ch == 'X')) { // variavel x
                 nextChar();
-                v = xVal;
+                v = NoExpr.Var.X;
+            } else if (variaveis != null && isLetter(ch)) { // variavel, funcao ou constante (varias variaveis)
+                while (isLetter(ch) || (ch >= '0' && ch <= '9')) nextChar();
+                String name = s.substring(startPos, this.pos);
+                Integer indice = variaveis.get(name);
+                if (indice != null) {
+                    v = new NoExpr.Var(indice, name);
+                } else if (eat('(')) {
+                    NoExpr arg = parseExpression();
+                    if (!eat(')')) throw erro("Falta ')'", pos);
+                    v = applyFunc(name, arg, startPos);
+                } else {
+                    v = new NoExpr.Const(resolveConstant(name, startPos));
+                }
             } else if (isLetter(ch)) { // funcao ou constante textual
                 while (isLetter(ch)) nextChar();
+                if (s.startsWith("log", startPos) && this.pos == startPos + 3 && s.startsWith("10(", this.pos)) {
+                    nextChar(); nextChar(); // log10
+                }
                 String name = s.substring(startPos, this.pos);
 
                 // se vier '(' na sequencia => funcao; senao => constante textual
                 if (eat('(')) {
-                    double arg = parseExpression(xVal);
-                    if (!eat(')')) throw new RuntimeException("Falta ')'");
-                    v = applyFunc(name, arg);
+                    NoExpr arg = parseExpression();
+                    if (!eat(')')) throw erro("Falta ')'", pos);
+                    v = applyFunc(name, arg, startPos);
                 } else {
-                    v = resolveConstant(name);
+                    v = new NoExpr.Const(resolveConstant(name, startPos));
                 }
             } else {
-                throw new RuntimeException("Token inesperado: '" + (char) ch + "'");
+                if (ch == -1) throw erro("Fim inesperado da expressao", pos);
+                throw erro("Token inesperado: '" + (char) ch + "'", pos);
             }
 
             if (eat('^')) { // potencia (associacao a direita)
-                double exp = parseFactor(xVal);
-                v = Math.pow(v, exp);
+                NoExpr exp = parseFactor();
+                v = new NoExpr.Bin('^', v, exp);
             }
 
             return v;
@@ -271,29 +537,18 @@ public class BisseccaoSwing extends JFrame {
             return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z');
         }
 
-        private double resolveConstant(String name) {
+        private double resolveConstant(String name, int inicio) {
             switch (name) {
                 case "pi": case "PI": case "Pi": return Math.PI;
                 case "e": case "E": return Math.E;
-                default: throw new RuntimeException("Identificador desconhecido: " + name + " (use func(...) ou constante conhecida)");
+                default: throw erro("Identificador desconhecido: " + name + " (use func(...) ou constante conhecida)", inicio);
             }
         }
 
-        private double applyFunc(String f, double a) {
-            switch (f) {
-                case "sin": return Math.sin(a);
-                case "cos": return Math.cos(a);
-                case "tan": return Math.tan(a);
-                case "sqrt": return Math.sqrt(a);
-                case "log": case "ln": return Math.log(a);      // ln
-                case "log10": return Math.log10(a);
-                case "exp": return Math.exp(a);
-                case "abs": return Math.abs(a);
-                case "sign": return Math.signum(a);
-                case "floor": return Math.floor(a);
-                case "ceil": return Math.ceil(a);
-                default: throw new RuntimeException("Funcao desconhecida: " + f);
-            }
+        private NoExpr applyFunc(String f, NoExpr a, int inicio) {
+            NoExpr.Funcao funcao = NoExpr.Funcao.porNome(f);
+            if (funcao == null) throw erro("Funcao desconhecida: " + f, inicio);
+            return new NoExpr.Func(funcao, a);
         }
     }
 }
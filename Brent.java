@@ -0,0 +1,87 @@
+package backend;
+
+import java.util.function.DoubleUnaryOperator;
+
+/**
+ * Metodo de Brent: combina interpolacao quadratica inversa, secante e
+ * bisseccao. Usa a interpolacao quando ela cai dentro do intervalo e reduz
+ * o passo o bastante; senao faz bisseccao. Converge em no maximo ~ o dobro
+ * dos passos da bisseccao e superlinearmente perto de raizes simples, sem
+ * derivada.
+ */
+public class Brent implements MetodoRaiz {
+
+    private static final double EPS = Math.ulp(1.0);
+
+    @Override
+    public String nome() {
+        return "Brent";
+    }
+
+    @Override
+    public String toString() {
+        return nome();
+    }
+
+    @Override
+    public ResultadoRaiz resolver(DoubleUnaryOperator f, DoubleUnaryOperator df,
+                                  double a, double b, double fa, double fb, double tol, int iterMax) {
+        MetodoRaiz.exigirTroca(fa, fb);
+        // b: melhor aproximacao; c: ponta oposta (raiz entre b e c); a: b anterior
+        double c = a, fc = fa;
+        double d = b - a, e = d;
+        int avaliacoes = 0;
+        for (int iter = 0; iter < iterMax; iter++) {
+            if ((fb > 0) == (fc > 0)) {
+                c = a;
+                fc = fa;
+                d = b - a;
+                e = d;
+            }
+            if (Math.abs(fc) < Math.abs(fb)) {
+                a = b; b = c; c = a;
+                fa = fb; fb = fc; fc = fa;
+            }
+            double tol1 = 2.0 * EPS * Math.abs(b) + 0.5 * tol;
+            double xm = 0.5 * (c - b);
+            if (Math.abs(xm) <= tol1 || Math.abs(fb) <= tol) {
+                return new ResultadoRaiz(b, fb, Math.min(b, c), Math.max(b, c), iter, avaliacoes, true);
+            }
+            if (Math.abs(e) >= tol1 && Math.abs(fa) > Math.abs(fb)) {
+                // interpolacao: secante (a == c) ou quadratica inversa
+                double s = fb / fa, p, q;
+                if (a == c) {
+                    p = 2.0 * xm * s;
+                    q = 1.0 - s;
+                } else {
+                    double qa = fa / fc, r = fb / fc;
+                    p = s * (2.0 * xm * qa * (qa - r) - (b - a) * (r - 1.0));
+                    q = (qa - 1.0) * (r - 1.0) * (s - 1.0);
+                }
+                if (p > 0) q = -q;
+                p = Math.abs(p);
+                double min1 = 3.0 * xm * q - Math.abs(tol1 * q);
+                double min2 = Math.abs(e * q);
+                if (2.0 * p < Math.min(min1, min2)) {
+                    e = d;
+                    d = p / q;
+                } else {
+                    d = xm;
+                    e = d;
+                }
+            } else {
+                d = xm;
+                e = d;
+            }
+            a = b;
+            fa = fb;
+            b += Math.abs(d) > tol1 ? d : Math.copySign(tol1, xm);
+            fb = f.applyAsDouble(b);
+            avaliacoes++;
+            if (!Double.isFinite(fb)) {
+                return new ResultadoRaiz(b, fb, Math.min(a, c), Math.max(a, c), iter + 1, avaliacoes, false);
+            }
+        }
+        return new ResultadoRaiz(b, fb, Math.min(b, c), Math.max(b, c), iterMax, avaliacoes, false);
+    }
+}
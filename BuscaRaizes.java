@@ -0,0 +1,101 @@
+package backend;
+
+import javax.swing.SwingWorker;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Busca de raizes do botao Calcular (BisseccaoSwing e MetodosCalculo) fora
+ * da thread de eventos do Swing, para a janela nao travar com funcoes lentas
+ * ou tolerancias finas.
+ *
+ * Polinomios vao para RaizesPolinomio (todas as raizes reais); as demais
+ * funcoes para VarreduraRaizes em [INICIO, FIM], com as celulas no pool
+ * comum. Cada raiz e publicada assim que e achada (process recebe em lotes,
+ * na thread de eventos) e o progresso (0 a 100) vai para a propriedade
+ * "progress". cancelar() e os limites de ControleBusca.padrao() encerram a
+ * busca, e get() devolve as raizes achadas ate ali, em ordem; o motivo fica
+ * em getMotivo(), que tambem avisa quando a varredura chega a MAX_DIVISOES.
+ * As interfaces sobrescrevem process e done.
+ */
+class BuscaRaizes extends SwingWorker<List<ResultadoRaiz>, ResultadoRaiz> {
+
+    static final double INICIO = -100, FIM = 100;
+
+    private final BisseccaoSwing.Expr expr;
+    private final MetodoRaiz metodo;
+    private final double tol;
+    private final int iterMax;
+    private final ControleBusca controle = ControleBusca.padrao();
+
+    // Preenchidos em doInBackground, lidos em done
+    private volatile boolean polinomio;
+    private volatile boolean limiteAtingido;
+    private volatile int avaliacoes, avaliacoesIntervalares;
+    private volatile long nanos;
+
+    BuscaRaizes(BisseccaoSwing.Expr expr, MetodoRaiz metodo, double tol, int iterMax) {
+        this.expr = expr;
+        this.metodo = metodo;
+        this.tol = tol;
+        this.iterMax = iterMax;
+        controle.aoAcharRaiz(r -> publish(r));
+        controle.aoProgredir(this::setProgress);
+    }
+
+    @Override
+    protected List<ResultadoRaiz> doInBackground() {
+        long inicio = System.nanoTime();
+        List<ResultadoRaiz> raizes;
+        double[] coef = expr.polinomio();
+        polinomio = RaizesPolinomio.aceita(coef);
+        if (polinomio) {
+            RaizesPolinomio busca = new RaizesPolinomio(coef, metodo, expr);
+            raizes = busca.raizes(tol, iterMax, controle);
+            avaliacoes = busca.getAvaliacoes();
+        } else {
+            VarreduraRaizes busca = new VarreduraRaizes(expr, metodo);
+            raizes = busca.raizes(INICIO, FIM, tol, iterMax, ForkJoinPool.commonPool(), controle);
+            avaliacoes = busca.getAvaliacoes();
+            avaliacoesIntervalares = busca.getAvaliacoesIntervalares();
+            limiteAtingido = busca.isLimiteAtingido();
+        }
+        nanos = System.nanoTime() - inicio;
+        return raizes;
+    }
+
+    // Pede o fim da busca; as raizes ja achadas continuam no resultado
+    void cancelar() {
+        controle.cancelar();
+    }
+
+    // true se a busca usou RaizesPolinomio (sem limite de intervalo)
+    boolean isPolinomio() {
+        return polinomio;
+    }
+
+    // Por que a busca parou antes do fim ou pode estar incompleta; null se terminou
+    String getMotivo() {
+        if (controle.getMotivo() != null) return controle.getMotivo();
+        return limiteAtingido ? "limite de divisoes atingido, lista pode estar incompleta" : null;
+    }
+
+    // Avaliacoes pontuais de f e f'
+    int getAvaliacoes() {
+        return avaliacoes;
+    }
+
+    // Avaliacoes intervalares de f e f' (so a varredura usa; 0 para polinomios)
+    int getAvaliacoesIntervalares() {
+        return avaliacoesIntervalares;
+    }
+
+    // Duracao da busca em milissegundos
+    double getMilissegundos() {
+        return nanos / 1e6;
+    }
+
+    MetodoRaiz getMetodo() {
+        return metodo;
+    }
+}
@@ -0,0 +1,105 @@
+package backend;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Cache LRU (menos usado recentemente) de expressoes ja analisadas.
+ *
+ * A chave e o texto normalizado da funcao (sem espacos, virgula -> ponto);
+ * o valor e o proprio BisseccaoSwing.Expr, que guarda a versao compilada e a
+ * derivada depois de calculadas. Assim cliques repetidos e tarefas em lote
+ * com a mesma funcao nao repetem analise, simplificacao nem compilacao.
+ *
+ * Seguro para varias threads. A analise de uma expressao nova e feita fora
+ * do bloqueio; se duas threads pedirem a mesma chave ao mesmo tempo, a
+ * primeira a inserir vence e a outra usa o valor inserido.
+ */
+public class CacheExpr {
+
+    public static final int CAPACIDADE_PADRAO = 256;
+
+    private static final CacheExpr GLOBAL = new CacheExpr(CAPACIDADE_PADRAO);
+
+    private final int capacidade;
+    private final LinkedHashMap<String, BisseccaoSwing.Expr> mapa;
+    private final LongAdder acertos = new LongAdder();
+    private final LongAdder falhas = new LongAdder();
+    private final LongAdder remocoes = new LongAdder();
+
+    public CacheExpr(int capacidade) {
+        if (capacidade <= 0) {
+            throw new IllegalArgumentException("Capacidade deve ser > 0.");
+        }
+        this.capacidade = capacidade;
+        // accessOrder = true: cada get move a entrada para o fim (mais recente)
+        this.mapa = new LinkedHashMap<String, BisseccaoSwing.Expr>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, BisseccaoSwing.Expr> maisAntiga) {
+                if (size() > CacheExpr.this.capacidade) {
+                    remocoes.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    // Cache compartilhado pelas telas e pelo processamento em lote
+    public static CacheExpr global() {
+        return GLOBAL;
+    }
+
+    /**
+     * Expressao analisada para o texto dado (do cache ou nova).
+     * Erros de sintaxe (ErroExpressao, com a posicao em fonte) sao
+     * propagados e nao ficam no cache.
+     */
+    BisseccaoSwing.Expr obter(String fonte) {
+        String chave = BisseccaoSwing.Expr.normalizar(fonte);
+        synchronized (mapa) {
+            BisseccaoSwing.Expr e = mapa.get(chave);
+            if (e != null) {
+                acertos.increment();
+                return e;
+            }
+        }
+        falhas.increment();
+        BisseccaoSwing.Expr nova = new BisseccaoSwing.Expr(fonte);
+        synchronized (mapa) {
+            BisseccaoSwing.Expr existente = mapa.putIfAbsent(chave, nova);
+            return existente != null ? existente : nova;
+        }
+    }
+
+    public long getAcertos() {
+        return acertos.sum();
+    }
+
+    public long getFalhas() {
+        return falhas.sum();
+    }
+
+    public long getRemocoes() {
+        return remocoes.sum();
+    }
+
+    public int tamanho() {
+        synchronized (mapa) {
+            return mapa.size();
+        }
+    }
+
+    public void limpar() {
+        synchronized (mapa) {
+            mapa.clear();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return String.format("CacheExpr[%d/%d, acertos=%d, falhas=%d, remocoes=%d]",
+                tamanho(), capacidade, getAcertos(), getFalhas(), getRemocoes());
+    }
+}
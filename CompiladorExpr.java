@@ -0,0 +1,293 @@
+package backend;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.function.DoubleUnaryOperator;
+
+/**
+ * Compila a arvore de uma expressao (NoExpr) para uma classe da JVM.
+ *
+ * Gera o bytecode de uma classe que implementa DoubleUnaryOperator, em que
+ * applyAsDouble(x) e a expressao escrita "a mao": operacoes em double e
+ * chamadas estaticas a java.lang.Math, sem despacho virtual por no. Assim o
+ * JIT pode inlinar e otimizar f(x) como codigo Java comum.
+ *
+ * A classe e definida como classe oculta (Lookup.defineHiddenClass) sem a
+ * opcao STRONG: quando a instancia deixa de ser referenciada, a classe pode
+ * ser descarregada e o metaspace volta a ser liberado.
+ *
+ * Nos compartilhados do DAG (ver SimplificadorExpr) sao calculados uma vez e
+ * guardados em variaveis locais. O codigo gerado nao tem desvios, entao
+ * dispensa o atributo StackMapTable.
+ */
+final class CompiladorExpr {
+
+    private static final int LIMITE_CODIGO = 65535;
+    private static final String PACOTE = CompiladorExpr.class.getPackageName().replace('.', '/');
+    private static final String NOME_POT_INT = PACOTE + "/NoExpr$PotInt";
+
+    private CompiladorExpr() {
+    }
+
+    /**
+     * @return avaliador compilado, ou null se a arvore nao couber num metodo
+     *         ou a JVM recusar a classe (o chamador usa o interpretador)
+     */
+    static DoubleUnaryOperator compilar(NoExpr raiz) {
+        try {
+            byte[] bytes = new CompiladorExpr().gerarClasse(raiz);
+            if (bytes == null) return null;
+            Class<?> classe = MethodHandles.lookup().defineHiddenClass(bytes, true).lookupClass();
+            return (DoubleUnaryOperator) classe.getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException | IllegalArgumentException | LinkageError | IOException
+                 | StackOverflowError ex) {
+            return null;
+        }
+    }
+
+    // ------------------------------------------------------------------
+    // Constant pool
+    // ------------------------------------------------------------------
+
+    private final ByteArrayOutputStream poolBytes = new ByteArrayOutputStream();
+    private final DataOutputStream pool = new DataOutputStream(poolBytes);
+    private final Map<String, Integer> indices = new HashMap<>();
+    private int proximoIndice = 1;
+
+    // Nos usados mais de uma vez e a variavel local (slot) que guarda cada um
+    private final Map<NoExpr, Integer> usos = new IdentityHashMap<>();
+    private final Map<NoExpr, Integer> locais = new IdentityHashMap<>();
+    private int proximoLocal = 3; // 0 = this, 1-2 = x
+
+    private int utf8(String s) throws IOException {
+        Integer i = indices.get("U" + s);
+        if (i != null) return i;
+        pool.writeByte(1);
+        pool.writeUTF(s);
+        return registrar("U" + s, 1);
+    }
+
+    private int classe(String nome) throws IOException {
+        Integer i = indices.get("C" + nome);
+        if (i != null) return i;
+        int u = utf8(nome);
+        pool.writeByte(7);
+        pool.writeShort(u);
+        return registrar("C" + nome, 1);
+    }
+
+    private int metodo(String dono, String nome, String descritor) throws IOException {
+        String chave = "M" + dono + "." + nome + descritor;
+        Integer i = indices.get(chave);
+        if (i != null) return i;
+        int c = classe(dono);
+        int n = utf8(nome), d = utf8(descritor);
+        pool.writeByte(12);
+        pool.writeShort(n);
+        pool.writeShort(d);
+        int nat = registrar("N" + nome + descritor, 1);
+        pool.writeByte(10);
+        pool.writeShort(c);
+        pool.writeShort(nat);
+        return registrar(chave, 1);
+    }
+
+    private int constante(double v) throws IOException {
+        String chave = "D" + Double.doubleToRawLongBits(v);
+        Integer i = indices.get(chave);
+        if (i != null) return i;
+        pool.writeByte(6);
+        pool.writeDouble(v);
+        return registrar(chave, 2); // double ocupa duas entradas
+    }
+
+    private int registrar(String chave, int entradas) {
+        int i = proximoIndice;
+        proximoIndice += entradas;
+        indices.put(chave, i);
+        return i;
+    }
+
+    // ------------------------------------------------------------------
+    // Geracao do codigo
+    // ------------------------------------------------------------------
+
+    private byte[] gerarClasse(NoExpr raiz) throws IOException {
+        ByteArrayOutputStream codigoBytes = new ByteArrayOutputStream();
+        DataOutputStream codigo = new DataOutputStream(codigoBytes);
+        contarUsos(raiz);
+        emitir(raiz, codigo);
+        codigo.writeByte(0xaf); // dreturn
+        if (codigo.size() > LIMITE_CODIGO) return null;
+        int pilha = pilhaMaxima(raiz) + 2; // + dup2 antes de guardar um no compartilhado
+        if (pilha > 0xffff || proximoLocal > 0xffff) return null;
+
+        int esta = classe(PACOTE + "/ExprCompilada");
+        int superClasse = classe("java/lang/Object");
+        int interfaceOp = classe("java/util/function/DoubleUnaryOperator");
+        int initObject = metodo("java/lang/Object", "<init>", "()V");
+        int nomeInit = utf8("<init>"), descInit = utf8("()V");
+        int nomeApply = utf8("applyAsDouble"), descApply = utf8("(D)D");
+        int atributoCode = utf8("Code");
+
+        ByteArrayOutputStream saida = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(saida);
+        out.writeInt(0xCAFEBABE);
+        out.writeShort(0);
+        out.writeShort(61); // Java 17
+        out.writeShort(proximoIndice);
+        pool.flush();
+        poolBytes.writeTo(out);
+        out.writeShort(0x0001 | 0x0010 | 0x0020); // public final super
+        out.writeShort(esta);
+        out.writeShort(superClasse);
+        out.writeShort(1);
+        out.writeShort(interfaceOp);
+        out.writeShort(0); // campos
+        out.writeShort(2); // metodos
+
+        // public <init>() { super(); }
+        out.writeShort(0x0001);
+        out.writeShort(nomeInit);
+        out.writeShort(descInit);
+        out.writeShort(1);
+        byte[] init = {0x2a, (byte) 0xb7, (byte) (initObject >> 8), (byte) initObject, (byte) 0xb1};
+        escreverCode(out, atributoCode, 1, 1, init);
+
+        // public double applyAsDouble(double x)
+        out.writeShort(0x0001 | 0x0010);
+        out.writeShort(nomeApply);
+        out.writeShort(descApply);
+        out.writeShort(1);
+        escreverCode(out, atributoCode, pilha, proximoLocal, codigoBytes.toByteArray());
+
+        out.writeShort(0); // atributos da classe
+        out.flush();
+        return saida.toByteArray();
+    }
+
+    private static void escreverCode(DataOutputStream out, int atributoCode, int pilha, int locais,
+                                     byte[] codigo) throws IOException {
+        out.writeShort(atributoCode);
+        out.writeInt(12 + codigo.length);
+        out.writeShort(pilha);
+        out.writeShort(locais);
+        out.writeInt(codigo.length);
+        out.write(codigo);
+        out.writeShort(0); // tabela de excecoes
+        out.writeShort(0); // atributos do Code
+    }
+
+    private void contarUsos(NoExpr no) {
+        Integer u = usos.get(no);
+        usos.put(no, u == null ? 1 : u + 1);
+        if (u != null) return; // filhos ja contados
+        if (no instanceof NoExpr.Neg) contarUsos(((NoExpr.Neg) no).a);
+        else if (no instanceof NoExpr.Func) contarUsos(((NoExpr.Func) no).a);
+        else if (no instanceof NoExpr.PotInt) contarUsos(((NoExpr.PotInt) no).a);
+        else if (no instanceof NoExpr.Bin) {
+            contarUsos(((NoExpr.Bin) no).a);
+            contarUsos(((NoExpr.Bin) no).b);
+        }
+    }
+
+    // No compartilhado: calcula na primeira vez e guarda; depois so carrega
+    private void emitir(NoExpr no, DataOutputStream c) throws IOException {
+        Integer local = locais.get(no);
+        if (local != null) {
+            instrucaoLocal(c, 0x18, local); // dload
+            return;
+        }
+        emitirNo(no, c);
+        if (usos.get(no) > 1 && !(no instanceof NoExpr.Const) && !(no instanceof NoExpr.Var)) {
+            local = proximoLocal;
+            proximoLocal += 2;
+            locais.put(no, local);
+            c.writeByte(0x5c); // dup2
+            instrucaoLocal(c, 0x39, local); // dstore
+        }
+    }
+
+    private static void instrucaoLocal(DataOutputStream c, int opcode, int local) throws IOException {
+        if (local <= 0xff) {
+            c.writeByte(opcode);
+            c.writeByte(local);
+        } else {
+            c.writeByte(0xc4); // wide
+            c.writeByte(opcode);
+            c.writeShort(local);
+        }
+    }
+
+    // Pos-ordem: operandos na pilha, depois a operacao
+    private void emitirNo(NoExpr no, DataOutputStream c) throws IOException {
+        if (no instanceof NoExpr.Const) {
+            double v = ((NoExpr.Const) no).valor;
+            if (Double.doubleToRawLongBits(v) == 0L) {
+                c.writeByte(0x0e); // dconst_0
+            } else if (v == 1.0) {
+                c.writeByte(0x0f); // dconst_1
+            } else {
+                c.writeByte(0x14); // ldc2_w
+                c.writeShort(constante(v));
+            }
+        } else if (no instanceof NoExpr.Var) {
+            c.writeByte(0x27); // dload_1
+        } else if (no instanceof NoExpr.Neg) {
+            emitir(((NoExpr.Neg) no).a, c);
+            c.writeByte(0x77); // dneg
+        } else if (no instanceof NoExpr.Bin) {
+            NoExpr.Bin b = (NoExpr.Bin) no;
+            emitir(b.a, c);
+            emitir(b.b, c);
+            switch (b.op) {
+                case '+': c.writeByte(0x63); break; // dadd
+                case '-': c.writeByte(0x67); break; // dsub
+                case '*': c.writeByte(0x6b); break; // dmul
+                case '/': c.writeByte(0x6f); break; // ddiv
+                default:
+                    c.writeByte(0xb8); // invokestatic
+                    c.writeShort(metodo("java/lang/Math", "pow", "(DD)D"));
+            }
+        } else if (no instanceof NoExpr.PotInt) {
+            NoExpr.PotInt p = (NoExpr.PotInt) no;
+            emitir(p.a, c);
+            if (p.n == 2) {
+                c.writeByte(0x5c); // dup2
+                c.writeByte(0x6b); // dmul
+            } else if (p.n == 3) {
+                c.writeByte(0x5c); // dup2
+                c.writeByte(0x5c); // dup2
+                c.writeByte(0x6b); // dmul
+                c.writeByte(0x6b); // dmul
+            } else {
+                c.writeByte(0x10); // bipush
+                c.writeByte(p.n);
+                c.writeByte(0xb8); // invokestatic
+                c.writeShort(metodo(NOME_POT_INT, "potInt", "(DI)D"));
+            }
+        } else {
+            NoExpr.Func f = (NoExpr.Func) no;
+            emitir(f.a, c);
+            c.writeByte(0xb8); // invokestatic
+            c.writeShort(metodo("java/lang/Math", f.f.metodoMath(), "(D)D"));
+        }
+    }
+
+    // Profundidade maxima da pilha de operandos (cada double ocupa 2 posicoes)
+    private static int pilhaMaxima(NoExpr no) {
+        if (no instanceof NoExpr.Neg) return pilhaMaxima(((NoExpr.Neg) no).a);
+        if (no instanceof NoExpr.Func) return pilhaMaxima(((NoExpr.Func) no).a);
+        if (no instanceof NoExpr.PotInt) return pilhaMaxima(((NoExpr.PotInt) no).a) + 4;
+        if (no instanceof NoExpr.Bin) {
+            NoExpr.Bin b = (NoExpr.Bin) no;
+            return Math.max(pilhaMaxima(b.a), 2 + pilhaMaxima(b.b));
+        }
+        return 2;
+    }
+}
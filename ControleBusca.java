@@ -0,0 +1,117 @@
+package backend;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.function.Consumer;
+import java.util.function.IntConsumer;
+
+/**
+ * Controle de uma busca de raizes feita fora da thread da interface
+ * (VarreduraRaizes, RaizesPolinomio): cancelamento, limite de tempo e de
+ * avaliacoes de f, e avisos de cada raiz achada e do progresso.
+ *
+ * As buscas consultam parar() antes de cada celula; ao parar devolvem as
+ * raizes achadas ate ali e getMotivo() diz por que. Os metodos podem ser
+ * chamados de qualquer thread (as celulas da varredura rodam no pool), e
+ * os avisos tambem chegam dessas threads.
+ */
+public class ControleBusca {
+
+    // Limites usados pelas interfaces
+    public static final long TEMPO_PADRAO_MS = 10_000;
+    public static final long AVALIACOES_PADRAO = 5_000_000;
+
+    private final boolean semPrazo;
+    private final long duracao;        // nanossegundos permitidos a partir de iniciar()
+    private volatile long prazo;       // System.nanoTime() limite
+    private final long avaliacoesMax;
+    private final AtomicLong avaliacoes = new AtomicLong();
+    private volatile boolean cancelada;
+    private volatile String motivo;    // null enquanto a busca pode seguir
+
+    private volatile Consumer<ResultadoRaiz> aoAcharRaiz = r -> { };
+    private volatile IntConsumer aoProgredir = p -> { };
+    private final DoubleAdder coberto = new DoubleAdder();
+    private final AtomicInteger percentual = new AtomicInteger();
+    private volatile double largura = 1.0;
+
+    /**
+     * @param tempoMaxMs tempo maximo a partir do inicio da busca (<= 0: sem limite)
+     * @param avaliacoesMax avaliacoes de f e f' permitidas (<= 0: sem limite)
+     */
+    public ControleBusca(long tempoMaxMs, long avaliacoesMax) {
+        this.semPrazo = tempoMaxMs <= 0;
+        // limitado para que nanoTime() + duracao nao estoure
+        this.duracao = semPrazo ? 0 : Math.min(tempoMaxMs, Long.MAX_VALUE / 4_000_000L) * 1_000_000L;
+        this.prazo = System.nanoTime() + duracao;
+        this.avaliacoesMax = avaliacoesMax > 0 ? avaliacoesMax : Long.MAX_VALUE;
+    }
+
+    // Limites TEMPO_PADRAO_MS e AVALIACOES_PADRAO
+    public static ControleBusca padrao() {
+        return new ControleBusca(TEMPO_PADRAO_MS, AVALIACOES_PADRAO);
+    }
+
+    // Chamado com cada raiz assim que e achada (fora de ordem e, na varredura, antes de tirar repetidas)
+    public void aoAcharRaiz(Consumer<ResultadoRaiz> ouvinte) {
+        this.aoAcharRaiz = ouvinte;
+    }
+
+    // Chamado com o percentual (0 a 100) do intervalo ja examinado, so quando ele aumenta
+    public void aoProgredir(IntConsumer ouvinte) {
+        this.aoProgredir = ouvinte;
+    }
+
+    // Pede para a busca parar; ela devolve o que ja achou
+    public void cancelar() {
+        cancelada = true;
+    }
+
+    // true se a busca deve parar (cancelada, prazo vencido ou avaliacoes esgotadas)
+    boolean parar() {
+        if (motivo != null) return true;
+        if (cancelada) {
+            motivo = "cancelada";
+        } else if (!semPrazo && System.nanoTime() - prazo > 0) {
+            motivo = "tempo limite atingido";
+        } else if (avaliacoes.get() >= avaliacoesMax) {
+            motivo = "limite de avaliacoes atingido";
+        }
+        return motivo != null;
+    }
+
+    // Comeca a busca: o prazo conta daqui e o progresso e sobre um intervalo desta largura
+    void iniciar(double largura) {
+        this.prazo = System.nanoTime() + duracao;
+        this.largura = largura;
+        coberto.reset();
+        percentual.set(0);
+    }
+
+    void avaliou(int n) {
+        avaliacoes.addAndGet(n);
+    }
+
+    void achou(ResultadoRaiz r) {
+        aoAcharRaiz.accept(r);
+    }
+
+    // Um trecho desta largura foi examinado por completo
+    void cobriu(double trecho) {
+        coberto.add(trecho);
+        int p = (int) Math.min(100, 100 * coberto.sum() / largura);
+        int anterior = percentual.get();
+        if (p > anterior && percentual.compareAndSet(anterior, p)) aoProgredir.accept(p);
+    }
+
+    // Por que a busca parou antes do fim; null se terminou
+    public String getMotivo() {
+        return motivo;
+    }
+
+    // Avaliacoes de f e f' contadas ate agora
+    public long getAvaliacoes() {
+        return avaliacoes.get();
+    }
+}
@@ -0,0 +1,127 @@
+package backend;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * Derivada simbolica d/dx de uma expressao (NoExpr), ou derivada parcial
+ * em relacao a uma das variaveis de uma ExprMulti.
+ *
+ * Aplica as regras usuais (soma, produto, quociente, cadeia) no a no; a
+ * arvore resultante reaproveita os nos de f e passa depois pelo
+ * SimplificadorExpr, que remove os 0 e 1 gerados pelas regras. Cada no
+ * compartilhado e derivado uma unica vez.
+ *
+ * sign, floor e ceil tem derivada 0 (exceto nos saltos); abs tem derivada sign(a).
+ */
+final class DerivadaExpr {
+
+    private static final NoExpr ZERO = new NoExpr.Const(0.0);
+    private static final NoExpr UM = new NoExpr.Const(1.0);
+
+    private final Map<NoExpr, NoExpr> derivadas = new IdentityHashMap<>();
+    private final int variavel;
+
+    private DerivadaExpr(int variavel) {
+        this.variavel = variavel;
+    }
+
+    // Derivada ja simplificada
+    static NoExpr derivar(NoExpr f) {
+        return derivar(f, 0);
+    }
+
+    // Derivada parcial em relacao a variavel de indice dado (ver ExprMulti)
+    static NoExpr derivar(NoExpr f, int variavel) {
+        return SimplificadorExpr.simplificar(new DerivadaExpr(variavel).d(f));
+    }
+
+    private NoExpr d(NoExpr no) {
+        NoExpr r = derivadas.get(no);
+        if (r == null) {
+            r = regra(no);
+            derivadas.put(no, r);
+        }
+        return r;
+    }
+
+    private NoExpr regra(NoExpr no) {
+        if (no instanceof NoExpr.Const) return ZERO;
+        if (no instanceof NoExpr.Var) return ((NoExpr.Var) no).indice == variavel ? UM : ZERO;
+        if (no instanceof NoExpr.Neg) return new NoExpr.Neg(d(((NoExpr.Neg) no).a));
+        if (no instanceof NoExpr.PotInt) {
+            // (a^n)' = n * a^(n-1) * a'
+            NoExpr.PotInt p = (NoExpr.PotInt) no;
+            NoExpr base = p.n == 2 ? p.a : new NoExpr.PotInt(p.a, p.n - 1);
+            return mul(mul(new NoExpr.Const(p.n), base), d(p.a));
+        }
+        if (no instanceof NoExpr.Func) return cadeia((NoExpr.Func) no);
+
+        NoExpr.Bin b = (NoExpr.Bin) no;
+        NoExpr a = b.a, c = b.b;
+        switch (b.op) {
+            case '+': return new NoExpr.Bin('+', d(a), d(c));
+            case '-': return new NoExpr.Bin('-', d(a), d(c));
+            case '*':
+                // (a c)' = a' c + a c'
+                return new NoExpr.Bin('+', mul(d(a), c), mul(a, d(c)));
+            case '/':
+                if (c instanceof NoExpr.Const) return new NoExpr.Bin('/', d(a), c);
+                // (a / c)' = (a' c - a c') / c^2
+                return new NoExpr.Bin('/',
+                        new NoExpr.Bin('-', mul(d(a), c), mul(a, d(c))),
+                        new NoExpr.PotInt(c, 2));
+            default: {
+                if (c instanceof NoExpr.Const) {
+                    // (a^k)' = k * a^(k-1) * a'
+                    double k = ((NoExpr.Const) c).valor;
+                    NoExpr pot = new NoExpr.Bin('^', a, new NoExpr.Const(k - 1.0));
+                    return mul(mul(c, pot), d(a));
+                }
+                // (a^c)' = a^c * (c' ln a + c a' / a)
+                NoExpr ln = new NoExpr.Func(NoExpr.Funcao.LOG, a);
+                return mul(no, new NoExpr.Bin('+', mul(d(c), ln),
+                        new NoExpr.Bin('/', mul(c, d(a)), a)));
+            }
+        }
+    }
+
+    // Regra da cadeia: f(a)' = f'(a) * a'
+    private NoExpr cadeia(NoExpr.Func fn) {
+        NoExpr a = fn.a;
+        NoExpr externa;
+        switch (fn.f) {
+            case SIN:
+                externa = new NoExpr.Func(NoExpr.Funcao.COS, a);
+                break;
+            case COS:
+                externa = new NoExpr.Neg(new NoExpr.Func(NoExpr.Funcao.SIN, a));
+                break;
+            case TAN:
+                externa = new NoExpr.Bin('/', UM, new NoExpr.PotInt(new NoExpr.Func(NoExpr.Funcao.COS, a), 2));
+                break;
+            case SQRT:
+                externa = new NoExpr.Bin('/', new NoExpr.Const(0.5), fn);
+                break;
+            case LOG:
+                externa = new NoExpr.Bin('/', UM, a);
+                break;
+            case LOG10:
+                externa = new NoExpr.Bin('/', UM, mul(a, new NoExpr.Const(Math.log(10.0))));
+                break;
+            case EXP:
+                externa = fn;
+                break;
+            case ABS:
+                externa = new NoExpr.Func(NoExpr.Funcao.SIGN, a);
+                break;
+            default: // SIGN, FLOOR, CEIL: constantes por partes
+                return ZERO;
+        }
+        return mul(externa, d(a));
+    }
+
+    private static NoExpr mul(NoExpr a, NoExpr b) {
+        return new NoExpr.Bin('*', a, b);
+    }
+}
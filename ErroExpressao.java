@@ -0,0 +1,51 @@
+package backend;
+
+/**
+ * Erro de sintaxe numa expressao de f(x), com a posicao do caractere.
+ *
+ * Lancado apenas na analise (construtor de BisseccaoSwing.Expr); depois de
+ * analisada, a expressao nunca lanca excecao ao ser avaliada (valores
+ * invalidos viram NaN ou infinito). A posicao e relativa ao texto original,
+ * como foi digitado (espacos inclusive), a partir de 0.
+ */
+public class ErroExpressao extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    private final String expressao;
+    private final String motivo;
+    private final int posicao;
+
+    ErroExpressao(String expressao, String motivo, int posicao) {
+        super(motivo + " (posicao " + (posicao + 1) + ")");
+        this.expressao = expressao;
+        this.motivo = motivo;
+        this.posicao = posicao;
+    }
+
+    // Texto analisado, como foi recebido
+    public String getExpressao() {
+        return expressao;
+    }
+
+    // Descricao do erro, sem a posicao
+    public String getMotivo() {
+        return motivo;
+    }
+
+    // Indice (a partir de 0) do caractere onde o erro foi detectado
+    public int getPosicao() {
+        return posicao;
+    }
+
+    /**
+     * Expressao com um '^' embaixo do caractere do erro, para mensagens em
+     * fonte monoespacada (console, JTextArea).
+     */
+    public String destacar() {
+        StringBuilder sb = new StringBuilder(expressao).append('\n');
+        for (int i = 0; i < posicao; i++) {
+            sb.append(expressao.charAt(i) == '\t' ? '\t' : ' ');
+        }
+        return sb.append('^').toString();
+    }
+}
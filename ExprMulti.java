@@ -0,0 +1,82 @@
+package backend;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Expressao em varias variaveis com nomes (x1, x2, y, ...), para sistemas
+ * nao lineares (ver SistemaNaoLinear).
+ *
+ * Usa o mesmo parser de BisseccaoSwing.Expr (mesmas funcoes, constantes e
+ * multiplicacao implicita); o texto e analisado e simplificado uma vez.
+ * eval(v) recebe os valores na ordem dos nomes dados no construtor e nunca
+ * lanca excecao (valores invalidos viram NaN ou infinito).
+ */
+final class ExprMulti {
+    private final NoExpr raiz;
+    private final String[] variaveis;
+
+    /**
+     * @param raw texto da expressao
+     * @param variaveis nomes das variaveis; a posicao de cada nome e o seu indice em eval
+     * @throws ErroExpressao se o texto for invalido
+     */
+    ExprMulti(String raw, String... variaveis) {
+        this.variaveis = variaveis.clone();
+        this.raiz = BisseccaoSwing.Expr.analisar(raw, indices(this.variaveis));
+    }
+
+    private ExprMulti(NoExpr raiz, String[] variaveis) {
+        this.raiz = raiz;
+        this.variaveis = variaveis;
+    }
+
+    // nome -> indice, validando os nomes
+    private static Map<String, Integer> indices(String[] variaveis) {
+        Map<String, Integer> m = new HashMap<>();
+        for (int i = 0; i < variaveis.length; i++) {
+            String nome = variaveis[i];
+            if (!nome.matches("[A-Za-z][A-Za-z0-9]*")) {
+                throw new IllegalArgumentException("Nome de variavel invalido: '" + nome + "'");
+            }
+            if (NoExpr.Funcao.porNome(nome) != null) {
+                throw new IllegalArgumentException("Nome de variavel reservado (funcao): " + nome);
+            }
+            if (m.put(nome, i) != null) {
+                throw new IllegalArgumentException("Variavel repetida: " + nome);
+            }
+        }
+        return m;
+    }
+
+    // v[i] = valor da variavel variaveis[i]
+    double eval(double[] v) {
+        return raiz.eval(v);
+    }
+
+    // Derivada parcial em relacao a variavel de indice k (simbolica, ja simplificada)
+    ExprMulti derivada(int k) {
+        if (k < 0 || k >= variaveis.length) {
+            throw new IndexOutOfBoundsException("Variavel " + k + " fora de 0.." + (variaveis.length - 1));
+        }
+        return new ExprMulti(DerivadaExpr.derivar(raiz, k), variaveis);
+    }
+
+    // true se a expressao nao depende de nenhuma variavel
+    boolean constante() {
+        return raiz instanceof NoExpr.Const;
+    }
+
+    int numeroVariaveis() {
+        return variaveis.length;
+    }
+
+    NoExpr getArvore() {
+        return raiz;
+    }
+
+    @Override
+    public String toString() {
+        return raiz.toString();
+    }
+}
@@ -0,0 +1,279 @@
+package backend;
+
+/**
+ * Eliminacao de Gauss para matrizes em banda e tridiagonais.
+ * Uma matriz tem banda (kl, ku) quando A[i][j] = 0 para j < i-kl ou j > i+ku.
+ *
+ * Armazenamento compacto por linhas: a linha i guarda as colunas
+ * i-kl .. i+kl+ku (as kl posicoes extras recebem o preenchimento causado
+ * pelas trocas de linha). Custo O(n * kl * (kl+ku)) e memoria O(n * (2kl+ku+1)),
+ * contra O(n^3) e O(n^2) da eliminacao densa.
+ *
+ * Como no LAPACK, os multiplicadores de cada etapa sao guardados junto com o
+ * pivo escolhido e as trocas nao sao aplicadas as colunas ja eliminadas:
+ * no solve, cada etapa k troca b[k] com b[pivo[k]] e depois elimina.
+ */
+public class GaussBanda {
+
+    /**
+     * Algoritmo de Thomas para sistemas tridiagonais (sem pivotamento;
+     * estavel para matrizes diagonalmente dominantes).
+     * @param sub subdiagonal: sub[i] = A[i][i-1] (sub[0] ignorado)
+     * @param diag diagonal principal: diag[i] = A[i][i]
+     * @param sup superdiagonal: sup[i] = A[i][i+1] (sup[n-1] ignorado)
+     * @param d termos independentes
+     * @return vetor solucao x
+     */
+    public static double[] resolverTridiagonal(double[] sub, double[] diag, double[] sup, double[] d) {
+        int n = diag.length;
+        if (n == 0 || sub.length != n || sup.length != n || d.length != n) {
+            throw new IllegalArgumentException("Dimensoes invalidas: sub, diag, sup e d devem ter o mesmo tamanho.");
+        }
+        double[] c = new double[n]; // superdiagonal modificada
+        double[] x = new double[n];
+        double piv = diag[0];
+        if (Math.abs(piv) < 1e-15) {
+            throw new ArithmeticException("Sistema singular ou pivo numericamente nulo na etapa k=0");
+        }
+        c[0] = sup[0] / piv;
+        x[0] = d[0] / piv;
+        for (int i = 1; i < n; i++) {
+            piv = diag[i] - sub[i] * c[i - 1];
+            if (Math.abs(piv) < 1e-15) {
+                throw new ArithmeticException("Sistema singular ou pivo numericamente nulo na etapa k=" + i);
+            }
+            c[i] = (i < n - 1) ? sup[i] / piv : 0.0;
+            x[i] = (d[i] - sub[i] * x[i - 1]) / piv;
+        }
+        for (int i = n - 2; i >= 0; i--) {
+            x[i] -= c[i] * x[i + 1];
+        }
+        return x;
+    }
+
+    /**
+     * Sonda de estrutura: larguras inferior (kl) e superior (ku) da banda.
+     * Cada linha e varrida de fora para dentro, parando no primeiro nao nulo.
+     * @return {kl, ku}
+     */
+    public static int[] larguraBanda(double[][] A) {
+        int n = A.length;
+        int kl = 0, ku = 0;
+        for (int i = 0; i < n; i++) {
+            double[] linha = A[i];
+            for (int j = 0; j < i - kl; j++) {
+                if (linha[j] != 0.0) {
+                    kl = i - j;
+                    break;
+                }
+            }
+            for (int j = n - 1; j > i + ku; j--) {
+                if (linha[j] != 0.0) {
+                    ku = j - i;
+                    break;
+                }
+            }
+        }
+        return new int[] {kl, ku};
+    }
+
+    /**
+     * Indica se a banda (kl, ku) e estreita o bastante para o caminho em banda
+     * compensar a sondagem e a eliminacao densa.
+     */
+    public static boolean compensaBanda(int n, int kl, int ku) {
+        return n >= 3 && 2 * kl + ku + 1 <= n / 2;
+    }
+
+    // true se a matriz tridiagonal e diagonalmente dominante por linhas (Thomas e estavel)
+    static boolean diagonalDominante(double[][] A) {
+        int n = A.length;
+        for (int i = 0; i < n; i++) {
+            double fora = (i > 0 ? Math.abs(A[i][i - 1]) : 0.0) + (i < n - 1 ? Math.abs(A[i][i + 1]) : 0.0);
+            if (Math.abs(A[i][i]) < fora) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Fatoracao LU em banda com pivotamento parcial.
+     * @param A matriz n x n com banda (kl, ku) (sera COPIADA para a banda)
+     * @param kl largura inferior
+     * @param ku largura superior
+     */
+    public static FatoracaoBanda fatorar(double[][] A, int kl, int ku) {
+        int n = A.length;
+        if (n == 0 || A[0].length != n) {
+            throw new IllegalArgumentException("A matriz deve ser quadrada!");
+        }
+        if (kl < 0 || ku < 0) {
+            throw new IllegalArgumentException("Larguras de banda devem ser >= 0.");
+        }
+        FatoracaoBanda f = new FatoracaoBanda(n, kl, ku);
+        for (int i = 0; i < n; i++) {
+            int jIni = Math.max(0, i - kl), jFim = Math.min(n - 1, i + ku);
+            for (int j = jIni; j <= jFim; j++) {
+                f.ab[f.indice(i, j)] = A[i][j];
+            }
+        }
+        f.eliminar(true);
+        return f;
+    }
+
+    /**
+     * Fatoracao de uma matriz tridiagonal sem pivotamento (Thomas), no mesmo
+     * formato de FatoracaoBanda com kl = ku = 1.
+     */
+    public static FatoracaoBanda fatorarTridiagonal(double[][] A) {
+        int n = A.length;
+        FatoracaoBanda f = new FatoracaoBanda(n, 1, 1);
+        for (int i = 0; i < n; i++) {
+            if (i > 0) f.ab[f.indice(i, i - 1)] = A[i][i - 1];
+            f.ab[f.indice(i, i)] = A[i][i];
+            if (i < n - 1) f.ab[f.indice(i, i + 1)] = A[i][i + 1];
+        }
+        f.eliminar(false);
+        return f;
+    }
+
+    /**
+     * Fatores da LU em banda: U na banda compacta, multiplicadores de L por
+     * etapa e o pivo escolhido em cada etapa.
+     */
+    public static class FatoracaoBanda {
+        private final int n, kl, ku, largura;
+        private final double[] ab;     // linha i: colunas i-kl .. i+kl+ku
+        private final double[] mult;   // mult[k*kl + (i-k-1)] = L_ik
+        private final int[] pivo;      // linha trocada com k na etapa k
+
+        FatoracaoBanda(int n, int kl, int ku) {
+            this.n = n;
+            this.kl = kl;
+            this.ku = ku;
+            this.largura = 2 * kl + ku + 1;
+            this.ab = new double[n * largura];
+            this.mult = new double[n * kl];
+            this.pivo = new int[n];
+        }
+
+        private int indice(int i, int j) {
+            return i * largura + (j - i + kl);
+        }
+
+        private void eliminar(boolean pivotar) {
+            for (int k = 0; k < n; k++) {
+                int iFim = Math.min(n - 1, k + kl);
+                int jFim = Math.min(n - 1, k + kl + ku);
+
+                // Pivotamento Parcial restrito as kl linhas abaixo (as demais sao zero)
+                int p = k;
+                if (pivotar) {
+                    double maxAbs = Math.abs(ab[indice(k, k)]);
+                    for (int i = k + 1; i <= iFim; i++) {
+                        double val = Math.abs(ab[indice(i, k)]);
+                        if (val > maxAbs) {
+                            maxAbs = val;
+                            p = i;
+                        }
+                    }
+                }
+                pivo[k] = p;
+                if (p != k) {
+                    for (int j = k; j <= jFim; j++) {
+                        int a = indice(k, j), b = indice(p, j);
+                        double t = ab[a]; ab[a] = ab[b]; ab[b] = t;
+                    }
+                }
+
+                double pivotValue = ab[indice(k, k)];
+                if (Math.abs(pivotValue) < 1e-15) {
+                    throw new ArithmeticException("Sistema singular ou pivo numericamente nulo na etapa k=" + k);
+                }
+
+                for (int i = k + 1; i <= iFim; i++) {
+                    int ik = indice(i, k);
+                    double Lik = ab[ik] / pivotValue;
+                    mult[k * kl + (i - k - 1)] = Lik;
+                    ab[ik] = 0.0;
+                    if (Lik == 0.0) continue;
+                    int baseI = indice(i, 0), baseK = indice(k, 0);
+                    for (int j = k + 1; j <= jFim; j++) {
+                        ab[baseI + j] -= Lik * ab[baseK + j];
+                    }
+                }
+            }
+        }
+
+        /**
+         * Resolve Ax=b com os fatores em banda, em O(n * (2kl+ku)).
+         */
+        public double[] solve(double[] b) {
+            if (b.length != n) {
+                throw new IllegalArgumentException("Dimensoes invalidas: b deve ter tamanho " + n + ".");
+            }
+            double[] x = b.clone();
+            // Trocas e eliminacao na mesma ordem da fatoracao
+            for (int k = 0; k < n; k++) {
+                int p = pivo[k];
+                if (p != k) {
+                    double t = x[k]; x[k] = x[p]; x[p] = t;
+                }
+                int iFim = Math.min(n - 1, k + kl);
+                for (int i = k + 1; i <= iFim; i++) {
+                    x[i] -= mult[k * kl + (i - k - 1)] * x[k];
+                }
+            }
+            // Retrosubstituicao em U (largura kl+ku acima da diagonal)
+            for (int i = n - 1; i >= 0; i--) {
+                int jFim = Math.min(n - 1, i + kl + ku);
+                int base = indice(i, 0);
+                double soma = x[i];
+                for (int j = i + 1; j <= jFim; j++) {
+                    soma -= ab[base + j] * x[j];
+                }
+                x[i] = soma / ab[base + i];
+            }
+            return x;
+        }
+
+        // Vetor de permutacoes equivalente (PA = LU)
+        public int[] getPermutacao() {
+            int[] perm = new int[n];
+            for (int i = 0; i < n; i++) perm[i] = i;
+            for (int k = 0; k < n; k++) {
+                int p = pivo[k];
+                int t = perm[k]; perm[k] = perm[p]; perm[p] = t;
+            }
+            return perm;
+        }
+
+        // Matriz L densa na forma PA = LU (aplica as trocas posteriores aos multiplicadores)
+        public double[][] getL() {
+            double[][] L = new double[n][n];
+            for (int k = 0; k < n; k++) {
+                int p = pivo[k];
+                if (p != k) {
+                    double[] t = L[k]; L[k] = L[p]; L[p] = t;
+                }
+                int iFim = Math.min(n - 1, k + kl);
+                for (int i = k + 1; i <= iFim; i++) {
+                    L[i][k] = mult[k * kl + (i - k - 1)];
+                }
+            }
+            for (int i = 0; i < n; i++) L[i][i] = 1.0;
+            return L;
+        }
+
+        // Matriz U densa
+        public double[][] getU() {
+            double[][] U = new double[n][n];
+            for (int i = 0; i < n; i++) {
+                int jFim = Math.min(n - 1, i + kl + ku);
+                for (int j = i; j <= jFim; j++) {
+                    U[i][j] = ab[indice(i, j)];
+                }
+            }
+            return U;
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package backend;
 import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
 
 /**
  * Eliminacao de Gauss com Pivotamento Parcial.
@@ -22,44 +24,215 @@ public class GaussEliminacao {
     // Classe para armazenar os resultados do metodo de Gauss
     public static class ResultadoGauss {
         public double[] solucao;       // vetor solucao x
-        public double[][][] etapas;    // matriz A em cada etapa da eliminacao
-        public double[][] vetores;     // vetor b em cada etapa
+        public double[][][] etapas;    // matriz A em cada etapa registrada
+        public double[][] vetores;     // vetor b em cada etapa registrada
+        public int[] indicesEtapas;    // numero k de cada etapa registrada
         public int[] permutacoes;      // vetor de permutacoes das linhas
-        public double[][] matrizL;     // matriz L da decomposicao LU
-        public double[][] matrizU;     // matriz U da decomposicao LU
-        public double[][] matrizP;     // matriz de permutacao P
+
+        /**
+         * Matrizes L, U e P da decomposicao. Preenchidas pelo solve que guarda
+         * etapas (completo, aCada); nos modos nenhum e transmitir ficam null
+         * ate a primeira chamada do getter correspondente.
+         * @deprecated use getMatrizL(), getMatrizU() e getMatrizP()
+         */
+        @Deprecated public double[][] matrizL;
+        /** @deprecated use getMatrizU() */
+        @Deprecated public double[][] matrizU;
+        /** @deprecated use getMatrizP() */
+        @Deprecated public double[][] matrizP;
+
+        private LUFactorization fatoracao; // fatores compactos (solve sem guardar etapas)
+        private GaussBanda.FatoracaoBanda fatoracaoBanda; // fatores em banda (solve sem rastreio)
 
         public ResultadoGauss(int n, int numEtapas) {
+            this(n, numEtapas, true);
+        }
+
+        private ResultadoGauss(int n, int numEtapas, boolean fatoresDensos) {
             solucao = new double[n];
             etapas = new double[numEtapas][n][n];
             vetores = new double[numEtapas][n];
+            indicesEtapas = new int[numEtapas];
             permutacoes = new int[n];
-            matrizL = new double[n][n];
-            matrizU = new double[n][n];
-            matrizP = new double[n][n];
-            
-            // Inicializa permutacoes e matriz P como identidade
+            if (fatoresDensos) {
+                matrizL = new double[n][n];
+                matrizU = new double[n][n];
+                matrizP = new double[n][n];
+            }
+
+            // Inicializa permutacoes (e P) como identidade
             for (int i = 0; i < n; i++) {
                 permutacoes[i] = i;
-                matrizP[i][i] = 1.0;
+                if (fatoresDensos) matrizP[i][i] = 1.0;
             }
         }
+
+        // Matriz L; no solve sem rastreio e montada a partir dos fatores compactos
+        public double[][] getMatrizL() {
+            if (matrizL == null && fatoracao != null) matrizL = fatoracao.getL();
+            if (matrizL == null && fatoracaoBanda != null) matrizL = fatoracaoBanda.getL();
+            return matrizL;
+        }
+
+        // Matriz U; no solve sem rastreio e montada a partir dos fatores compactos
+        public double[][] getMatrizU() {
+            if (matrizU == null && fatoracao != null) matrizU = fatoracao.getU();
+            if (matrizU == null && fatoracaoBanda != null) matrizU = fatoracaoBanda.getU();
+            return matrizU;
+        }
+
+        // Matriz P densa, montada a partir de permutacoes na primeira chamada
+        public double[][] getMatrizP() {
+            if (matrizP == null) matrizP = montarP(permutacoes);
+            return matrizP;
+        }
+
+        private static double[][] montarP(int[] permutacoes) {
+            int n = permutacoes.length;
+            double[][] P = new double[n][n];
+            for (int i = 0; i < n; i++) {
+                P[i][permutacoes[i]] = 1.0;
+            }
+            return P;
+        }
+
+        // Fatores compactos (solve sem rastreio com matriz densa, ou transmitir; senao null)
+        public LUFactorization getFatoracao() {
+            return fatoracao;
+        }
+
+        // Fatores em banda (apenas no solve sem rastreio e matriz em banda; senao null)
+        public GaussBanda.FatoracaoBanda getFatoracaoBanda() {
+            return fatoracaoBanda;
+        }
     }
 
     /**
-     * Resolve o sistema linear Ax=b por Eliminacao de Gauss com pivotamento parcial.
+     * Recebe cada etapa da eliminacao no modo transmitido.
+     * M e rhs sao o estado corrente da eliminacao: copie-os se precisar guarda-los.
+     */
+    public interface OuvinteEtapa {
+        void etapa(int k, double[][] M, double[] rhs);
+    }
+
+    /**
+     * Politica de rastreio das etapas do solve:
+     * - completo(): guarda as n+1 etapas (padrao, usado pelas telas)
+     * - aCada(p): guarda a etapa 0, cada p-esima etapa e a ultima
+     * - transmitir(ouvinte): entrega cada etapa ao ouvinte sem guarda-la; L e U
+     *   ficam num unico vetor compacto (getFatoracao), nao em matrizes densas
+     * - nenhum(): nao guarda etapas; so a solucao e os fatores sao alocados
+     *   (matrizes tridiagonais e em banda estreita usam GaussBanda automaticamente)
+     *
+     * Em nenhum(), uma tridiagonal diagonalmente dominante (mesmo fracamente)
+     * vai para Thomas, sem pivotamento: a solucao e a mesma a menos de
+     * arredondamento, mas permutacoes e getMatrizP() saem identidade, e L e U
+     * sao os fatores sem trocas, mesmo quando o caminho denso (os demais modos)
+     * trocaria linhas. Em banda mais larga o pivotamento e o mesmo do denso.
+     */
+    public static final class Rastreio {
+        private static final Rastreio NENHUM = new Rastreio(0, null);
+        private static final Rastreio COMPLETO = new Rastreio(1, null);
+
+        final int passo;            // 0 = nao guarda etapas
+        final OuvinteEtapa ouvinte; // null = sem transmissao
+
+        private Rastreio(int passo, OuvinteEtapa ouvinte) {
+            this.passo = passo;
+            this.ouvinte = ouvinte;
+        }
+
+        public static Rastreio nenhum() {
+            return NENHUM;
+        }
+
+        public static Rastreio completo() {
+            return COMPLETO;
+        }
+
+        public static Rastreio aCada(int passo) {
+            if (passo < 1) {
+                throw new IllegalArgumentException("Passo de amostragem deve ser >= 1.");
+            }
+            return passo == 1 ? COMPLETO : new Rastreio(passo, null);
+        }
+
+        public static Rastreio transmitir(OuvinteEtapa ouvinte) {
+            if (ouvinte == null) {
+                throw new IllegalArgumentException("Ouvinte nao pode ser null.");
+            }
+            return new Rastreio(0, ouvinte);
+        }
+
+        boolean ativo() {
+            return passo > 0 || ouvinte != null;
+        }
+
+        boolean registra(int k, int n) {
+            return passo > 0 && (k % passo == 0 || k == n);
+        }
+
+        int contarEtapas(int n) {
+            if (passo == 0) return 0;
+            return n / passo + 1 + (n % passo == 0 ? 0 : 1);
+        }
+    }
+
+    /**
+     * Resolve o sistema linear Ax=b por Eliminacao de Gauss com pivotamento parcial,
+     * guardando todas as etapas.
      * @param A matriz dos coeficientes (sera COPIADA; a original nao e alterada)
      * @param b vetor de termos independentes (sera COPIADO)
      * @return ResultadoGauss contendo a solucao, etapas, matrizes L, U e P
      */
     public static ResultadoGauss solve(double[][] A, double[] b) {
+        return solve(A, b, Rastreio.completo());
+    }
+
+    /**
+     * Resolve o sistema linear Ax=b por Eliminacao de Gauss com pivotamento parcial.
+     * @param A matriz dos coeficientes (sera COPIADA; a original nao e alterada)
+     * @param b vetor de termos independentes (sera COPIADO)
+     * @param rastreio politica de registro das etapas (ver Rastreio)
+     * @return ResultadoGauss contendo a solucao, as etapas registradas e os fatores
+     */
+    public static ResultadoGauss solve(double[][] A, double[] b, Rastreio rastreio) {
         int n = A.length;
         if (n == 0 || A[0].length != n || b.length != n) {
             throw new IllegalArgumentException("Dimensoes invalidas: A deve ser n x n e b tamanho n.");
         }
 
-        // Inicializa o resultado com n+1 etapas (matriz original + n etapas de eliminacao)
-        ResultadoGauss resultado = new ResultadoGauss(n, n + 1);
+        // Sem rastreio: fatores compactos, sem copias de etapas
+        if (!rastreio.ativo()) {
+            ResultadoGauss resultado = new ResultadoGauss(n, 0, false);
+
+            // Sonda de estrutura: banda estreita vai para Thomas ou LU em banda
+            int[] banda = GaussBanda.larguraBanda(A);
+            if (GaussBanda.compensaBanda(n, banda[0], banda[1])) {
+                GaussBanda.FatoracaoBanda fatoracaoBanda =
+                        (banda[0] <= 1 && banda[1] <= 1 && GaussBanda.diagonalDominante(A))
+                        ? GaussBanda.fatorarTridiagonal(A)
+                        : GaussBanda.fatorar(A, banda[0], banda[1]);
+                resultado.fatoracaoBanda = fatoracaoBanda;
+                resultado.permutacoes = fatoracaoBanda.getPermutacao();
+                resultado.solucao = fatoracaoBanda.solve(b);
+                return resultado;
+            }
+
+            LUFactorization fatoracao = LUFactorization.fatorar(A);
+            resultado.fatoracao = fatoracao;
+            resultado.permutacoes = fatoracao.getPermutacao();
+            resultado.solucao = fatoracao.solve(b);
+            return resultado;
+        }
+
+        // Inicializa o resultado com as etapas que a politica vai registrar.
+        // So transmitindo: multiplicadores e U no formato compacto de LUFactorization
+        boolean densos = rastreio.passo > 0;
+        ResultadoGauss resultado = new ResultadoGauss(n, rastreio.contarEtapas(n), densos);
+        double[] lu = densos ? null : new double[n * n];
+        int trocas = 0;
+        int etapaAtual = 0;
         
         // Copias para nao alterar os originais
         double[][] M = new double[n][n];
@@ -70,12 +243,7 @@ public class GaussEliminacao {
         }
         
         // Salva estado inicial (etapa 0)
-        for (int i = 0; i < n; i++) {
-            for (int j = 0; j < n; j++) {
-                resultado.etapas[0][i][j] = M[i][j];
-            }
-            resultado.vetores[0][i] = rhs[i];
-        }
+        etapaAtual = registrarEtapa(resultado, rastreio, etapaAtual, 0, M, rhs);
 
         // Eliminacao (Triangularizacao): k = coluna/pivo
         for (int k = 0; k < n; k++) {
@@ -96,15 +264,24 @@ public class GaussEliminacao {
                 double[] tmp = M[k];  M[k] = M[pivo];  M[pivo] = tmp;
                 double tb = rhs[k];   rhs[k] = rhs[pivo]; rhs[pivo] = tb;
                 
-                // Atualiza vetor de permutacoes e matriz P
+                // Atualiza vetor de permutacoes (P e montada a partir dele)
                 int tmpPerm = resultado.permutacoes[k];
                 resultado.permutacoes[k] = resultado.permutacoes[pivo];
                 resultado.permutacoes[pivo] = tmpPerm;
-                
-                // Troca linhas na matriz P
-                double[] tmpP = resultado.matrizP[k];
-                resultado.matrizP[k] = resultado.matrizP[pivo];
-                resultado.matrizP[pivo] = tmpP;
+
+                // Troca os multiplicadores ja calculados, para que PA = LU
+                if (densos) {
+                    double[] Lk = resultado.matrizL[k];
+                    double[] Lp = resultado.matrizL[pivo];
+                    for (int j = 0; j < k; j++) {
+                        double t = Lk[j]; Lk[j] = Lp[j]; Lp[j] = t;
+                    }
+                } else {
+                    for (int j = 0; j < k; j++) {
+                        double t = lu[k * n + j]; lu[k * n + j] = lu[pivo * n + j]; lu[pivo * n + j] = t;
+                    }
+                }
+                trocas++;
             }
 
             // Verifica pivô nulo (sistema singular ou mal condicionado)
@@ -116,7 +293,9 @@ public class GaussEliminacao {
             // Zera elementos abaixo do pivo na coluna k
             for (int i = k + 1; i < n; i++) {
                 double Lik = M[i][k] / pivotValue; // multiplicador L_ik
-                resultado.matrizL[i][k] = Lik;  // Guarda o multiplicador na matriz L
+                // Guarda o multiplicador na matriz L
+                if (densos) resultado.matrizL[i][k] = Lik;
+                else lu[i * n + k] = Lik;
                 
                 // Linha i <- Linha i - Lik * Linha k (em M e em rhs)
                 for (int j = k; j < n; j++) {
@@ -125,25 +304,27 @@ public class GaussEliminacao {
                 rhs[i] -= Lik * rhs[k];
             }
             
-            // Guarda o estado após esta etapa
+            // Guarda (ou transmite) o estado após esta etapa
+            etapaAtual = registrarEtapa(resultado, rastreio, etapaAtual, k + 1, M, rhs);
+        }
+
+        if (densos) {
+            // Guarda a matriz U resultante
             for (int i = 0; i < n; i++) {
-                for (int j = 0; j < n; j++) {
-                    resultado.etapas[k + 1][i][j] = M[i][j];
-                }
-                resultado.vetores[k + 1][i] = rhs[i];
+                System.arraycopy(M[i], 0, resultado.matrizU[i], 0, n);
             }
-        }
 
-        // Guarda a matriz U resultante
-        for (int i = 0; i < n; i++) {
-            for (int j = 0; j < n; j++) {
-                resultado.matrizU[i][j] = M[i][j];
+            // Completa a diagonal principal de L com 1's
+            for (int i = 0; i < n; i++) {
+                resultado.matrizL[i][i] = 1.0;
             }
-        }
-        
-        // Completa a diagonal principal de L com 1's
-        for (int i = 0; i < n; i++) {
-            resultado.matrizL[i][i] = 1.0;
+            resultado.matrizP = ResultadoGauss.montarP(resultado.permutacoes);
+        } else {
+            // U na parte superior do vetor compacto (L ja esta abaixo da diagonal)
+            for (int i = 0; i < n; i++) {
+                System.arraycopy(M[i], i, lu, i * n + i, n - i);
+            }
+            resultado.fatoracao = new LUFactorization(n, lu, resultado.permutacoes.clone(), trocas);
         }
 
         // Retrosubstituicao
@@ -164,6 +345,323 @@ public class GaussEliminacao {
         return resultado;
     }
 
+    // Copia o estado da etapa k se a politica pedir e avisa o ouvinte; devolve o proximo indice livre
+    private static int registrarEtapa(ResultadoGauss resultado, Rastreio rastreio, int etapaAtual,
+                                      int k, double[][] M, double[] rhs) {
+        int n = M.length;
+        if (rastreio.registra(k, n)) {
+            for (int i = 0; i < n; i++) {
+                System.arraycopy(M[i], 0, resultado.etapas[etapaAtual][i], 0, n);
+            }
+            System.arraycopy(rhs, 0, resultado.vetores[etapaAtual], 0, n);
+            resultado.indicesEtapas[etapaAtual] = k;
+            etapaAtual++;
+        }
+        if (rastreio.ouvinte != null) {
+            rastreio.ouvinte.etapa(k, M, rhs);
+        }
+        return etapaAtual;
+    }
+
+    // ---------------- LU blocada em armazenamento plano ----------------
+
+    // Tamanho de bloco padrao: painel de 64 colunas cabe com folga no cache L2
+    public static final int TAMANHO_BLOCO_PADRAO = 64;
+
+    /**
+     * Resolve Ax=b pela fatoracao LU blocada (sem guardar etapas).
+     * Mesma sequencia de pivos do solve, mas com atualizacoes em blocos
+     * sobre um vetor contiguo, o que mantem os dados no cache para n grande.
+     * @param A matriz dos coeficientes (sera COPIADA)
+     * @param b vetor de termos independentes (sera COPIADO)
+     * @param tamanhoBloco numero de colunas por painel (ex.: TAMANHO_BLOCO_PADRAO)
+     * @return vetor solucao x
+     */
+    public static double[] solveBlocado(double[][] A, double[] b, int tamanhoBloco) {
+        int n = A.length;
+        if (n == 0 || A[0].length != n || b.length != n) {
+            throw new IllegalArgumentException("Dimensoes invalidas: A deve ser n x n e b tamanho n.");
+        }
+        double[] lu = paraVetorPlano(A);
+        int[] perm = new int[n];
+        fatorarLUBlocado(lu, n, perm, tamanhoBloco);
+        return substituir(lu, n, perm, b);
+    }
+
+    /**
+     * Fatora A uma unica vez (PA = LU) para resolver varios lados direitos
+     * em O(n^2) cada, sem refazer a eliminacao.
+     * @param A matriz dos coeficientes (sera COPIADA)
+     * @return fatoracao reutilizavel com solve, determinant e inverse
+     */
+    public static LUFactorization fatorar(double[][] A) {
+        return LUFactorization.fatorar(A);
+    }
+
+    /**
+     * Fatoracao LU blocada com pivotamento parcial, in-place, em armazenamento
+     * plano por linhas: a[i*n + j] = A[i][j].
+     *
+     * Passos para cada painel de colunas [kb, kb+jb):
+     * 1) Fatora o painel (pivotamento parcial coluna a coluna; as trocas
+     *    movem a linha inteira, que e contigua na memoria)
+     * 2) U12 <- L11^-1 * A12 (linhas do painel, colunas a direita)
+     * 3) A22 <- A22 - L21 * U12 em ladrilhos de colunas (estilo GEMM)
+     *
+     * Ao final, a contem L abaixo da diagonal (diagonal unitaria implicita)
+     * e U na diagonal e acima; perm[k] e a linha original na posicao k.
+     * @return numero de trocas de linha realizadas (paridade da permutacao)
+     */
+    public static int fatorarLUBlocado(double[] a, int n, int[] perm, int tamanhoBloco) {
+        if (a.length != n * n || perm.length != n) {
+            throw new IllegalArgumentException("Dimensoes invalidas: a deve ter n*n elementos e perm n.");
+        }
+        if (tamanhoBloco < 1) {
+            throw new IllegalArgumentException("Tamanho de bloco deve ser >= 1.");
+        }
+        for (int i = 0; i < n; i++) perm[i] = i;
+
+        int trocas = 0;
+        for (int kb = 0; kb < n; kb += tamanhoBloco) {
+            int fimPainel = Math.min(kb + tamanhoBloco, n);
+            trocas += fatorarPainel(a, n, perm, kb, fimPainel);
+            resolverFaixaU(a, n, kb, fimPainel, fimPainel, n);
+            atualizarSubmatriz(a, n, kb, fimPainel, fimPainel, n, tamanhoBloco);
+        }
+        return trocas;
+    }
+
+    // Passo 1: LU nao blocada das colunas [kb, fimPainel), linhas kb..n-1
+    private static int fatorarPainel(double[] a, int n, int[] perm, int kb, int fimPainel) {
+        int trocas = 0;
+        for (int k = kb; k < fimPainel; k++) {
+            // Pivotamento Parcial: mesma regra do solve (primeiro maior |a[i][k]|)
+            int pivo = k;
+            double maxAbs = Math.abs(a[k * n + k]);
+            for (int i = k + 1; i < n; i++) {
+                double val = Math.abs(a[i * n + k]);
+                if (val > maxAbs) {
+                    maxAbs = val;
+                    pivo = i;
+                }
+            }
+            if (pivo != k) {
+                trocarLinhas(a, n, k, pivo);
+                int tmpPerm = perm[k]; perm[k] = perm[pivo]; perm[pivo] = tmpPerm;
+                trocas++;
+            }
+
+            double pivotValue = a[k * n + k];
+            if (Math.abs(pivotValue) < 1e-15) {
+                throw new ArithmeticException("Sistema singular ou pivo numericamente nulo na etapa k=" + k);
+            }
+
+            // Multiplicadores L_ik e atualizacao apenas dentro do painel
+            int linhaK = k * n;
+            for (int i = k + 1; i < n; i++) {
+                int linhaI = i * n;
+                double Lik = a[linhaI + k] / pivotValue;
+                a[linhaI + k] = Lik;
+                for (int j = k + 1; j < fimPainel; j++) {
+                    a[linhaI + j] -= Lik * a[linhaK + j];
+                }
+            }
+        }
+        return trocas;
+    }
+
+    // Passo 2: U12 <- L11^-1 * A12, restrito as colunas [jIni, jFim)
+    static void resolverFaixaU(double[] a, int n, int kb, int fimPainel, int jIni, int jFim) {
+        for (int k = kb; k < fimPainel; k++) {
+            int linhaK = k * n;
+            for (int i = k + 1; i < fimPainel; i++) {
+                int linhaI = i * n;
+                double Lik = a[linhaI + k];
+                if (Lik == 0.0) continue;
+                for (int j = jIni; j < jFim; j++) {
+                    a[linhaI + j] -= Lik * a[linhaK + j];
+                }
+            }
+        }
+    }
+
+    // Passo 3: A22 <- A22 - L21 * U12 nas linhas [iIni, iFim); as colunas sao
+    // percorridas em ladrilhos para que o trecho de U12 usado fique no cache
+    static void atualizarSubmatriz(double[] a, int n, int kb, int fimPainel,
+                                   int iIni, int iFim, int tamanhoBloco) {
+        for (int jj = fimPainel; jj < n; jj += tamanhoBloco) {
+            int jFim = Math.min(jj + tamanhoBloco, n);
+            for (int i = iIni; i < iFim; i++) {
+                int linhaI = i * n;
+                for (int k = kb; k < fimPainel; k++) {
+                    double Lik = a[linhaI + k];
+                    if (Lik == 0.0) continue;
+                    int linhaK = k * n;
+                    for (int j = jj; j < jFim; j++) {
+                        a[linhaI + j] -= Lik * a[linhaK + j];
+                    }
+                }
+            }
+        }
+    }
+
+    // ---------------- LU paralela (fork/join) ----------------
+
+    // Abaixo desta ordem a fatoracao paralela roda sequencialmente
+    public static final int LIMIAR_PARALELO_PADRAO = 256;
+
+    /**
+     * Resolve Ax=b pela fatoracao LU blocada com a atualizacao da submatriz
+     * restante dividida entre os nucleos de um ForkJoinPool.
+     * @param pool pool a usar; null usa ForkJoinPool.commonPool()
+     * @param limiarParalelo ordem minima para paralelizar (menor que isso e sequencial)
+     * @return vetor solucao x
+     */
+    public static double[] solveParalelo(double[][] A, double[] b, ForkJoinPool pool, int limiarParalelo) {
+        int n = A.length;
+        if (n == 0 || A[0].length != n || b.length != n) {
+            throw new IllegalArgumentException("Dimensoes invalidas: A deve ser n x n e b tamanho n.");
+        }
+        double[] lu = paraVetorPlano(A);
+        int[] perm = new int[n];
+        fatorarLUParalelo(lu, n, perm, TAMANHO_BLOCO_PADRAO, pool, limiarParalelo);
+        return substituir(lu, n, perm, b);
+    }
+
+    /**
+     * Mesma fatoracao de fatorarLUBlocado (mesmo resultado, mesmos pivos),
+     * mas os passos 2 (U12, por faixas de colunas) e 3 (A22, por faixas de
+     * linhas) de cada painel sao executados em paralelo: cada linha i > k
+     * e atualizada de forma independente.
+     * @param pool pool a usar; null usa ForkJoinPool.commonPool()
+     * @param limiarParalelo ordem minima para paralelizar
+     * @return numero de trocas de linha realizadas
+     */
+    public static int fatorarLUParalelo(double[] a, int n, int[] perm, int tamanhoBloco,
+                                        ForkJoinPool pool, int limiarParalelo) {
+        if (pool == null) pool = ForkJoinPool.commonPool();
+        if (n < limiarParalelo || pool.getParallelism() < 2) {
+            return fatorarLUBlocado(a, n, perm, tamanhoBloco);
+        }
+        if (a.length != n * n || perm.length != n) {
+            throw new IllegalArgumentException("Dimensoes invalidas: a deve ter n*n elementos e perm n.");
+        }
+        if (tamanhoBloco < 1) {
+            throw new IllegalArgumentException("Tamanho de bloco deve ser >= 1.");
+        }
+        for (int i = 0; i < n; i++) perm[i] = i;
+
+        int trocas = 0;
+        for (int kb = 0; kb < n; kb += tamanhoBloco) {
+            int fimPainel = Math.min(kb + tamanhoBloco, n);
+            trocas += fatorarPainel(a, n, perm, kb, fimPainel);
+            if (fimPainel == n) break;
+            pool.invoke(new TarefaFaixaU(a, n, kb, fimPainel, fimPainel, n, tamanhoBloco));
+            pool.invoke(new TarefaSubmatriz(a, n, kb, fimPainel, fimPainel, n, tamanhoBloco));
+        }
+        return trocas;
+    }
+
+    // Passo 2 em paralelo: divide as colunas [jIni, jFim) ao meio ate caberem num bloco
+    private static class TarefaFaixaU extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+        private final double[] a;
+        private final int n, kb, fimPainel, jIni, jFim, tamanhoBloco;
+
+        TarefaFaixaU(double[] a, int n, int kb, int fimPainel, int jIni, int jFim, int tamanhoBloco) {
+            this.a = a; this.n = n; this.kb = kb; this.fimPainel = fimPainel;
+            this.jIni = jIni; this.jFim = jFim; this.tamanhoBloco = tamanhoBloco;
+        }
+
+        @Override
+        protected void compute() {
+            if (jFim - jIni <= Math.max(tamanhoBloco, 32)) {
+                resolverFaixaU(a, n, kb, fimPainel, jIni, jFim);
+                return;
+            }
+            int meio = (jIni + jFim) >>> 1;
+            invokeAll(new TarefaFaixaU(a, n, kb, fimPainel, jIni, meio, tamanhoBloco),
+                      new TarefaFaixaU(a, n, kb, fimPainel, meio, jFim, tamanhoBloco));
+        }
+    }
+
+    // Passo 3 em paralelo: divide as linhas [iIni, iFim) ao meio ate caberem num bloco
+    private static class TarefaSubmatriz extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+        private final double[] a;
+        private final int n, kb, fimPainel, iIni, iFim, tamanhoBloco;
+
+        TarefaSubmatriz(double[] a, int n, int kb, int fimPainel, int iIni, int iFim, int tamanhoBloco) {
+            this.a = a; this.n = n; this.kb = kb; this.fimPainel = fimPainel;
+            this.iIni = iIni; this.iFim = iFim; this.tamanhoBloco = tamanhoBloco;
+        }
+
+        @Override
+        protected void compute() {
+            if (iFim - iIni <= Math.max(tamanhoBloco, 32)) {
+                atualizarSubmatriz(a, n, kb, fimPainel, iIni, iFim, tamanhoBloco);
+                return;
+            }
+            int meio = (iIni + iFim) >>> 1;
+            invokeAll(new TarefaSubmatriz(a, n, kb, fimPainel, iIni, meio, tamanhoBloco),
+                      new TarefaSubmatriz(a, n, kb, fimPainel, meio, iFim, tamanhoBloco));
+        }
+    }
+
+    private static void trocarLinhas(double[] a, int n, int r1, int r2) {
+        int o1 = r1 * n, o2 = r2 * n;
+        for (int j = 0; j < n; j++) {
+            double t = a[o1 + j]; a[o1 + j] = a[o2 + j]; a[o2 + j] = t;
+        }
+    }
+
+    /**
+     * Substituicoes progressiva (L, diagonal unitaria) e retroativa (U)
+     * sobre os fatores compactos produzidos por fatorarLUBlocado.
+     */
+    static double[] substituir(double[] lu, int n, int[] perm, double[] b) {
+        double[] x = new double[n];
+        // Aplica a permutacao: y = P b
+        for (int i = 0; i < n; i++) {
+            x[i] = b[perm[i]];
+        }
+        // Ly = Pb
+        for (int i = 1; i < n; i++) {
+            int linhaI = i * n;
+            double soma = x[i];
+            for (int j = 0; j < i; j++) {
+                soma -= lu[linhaI + j] * x[j];
+            }
+            x[i] = soma;
+        }
+        // Retrosubstituicao: Ux = y
+        for (int i = n - 1; i >= 0; i--) {
+            int linhaI = i * n;
+            double soma = x[i];
+            for (int j = i + 1; j < n; j++) {
+                soma -= lu[linhaI + j] * x[j];
+            }
+            double diag = lu[linhaI + i];
+            if (Math.abs(diag) < 1e-15) {
+                throw new ArithmeticException("Sistema singular na retrosubstituicao (diagonal ~ 0).");
+            }
+            x[i] = soma / diag;
+        }
+        return x;
+    }
+
+    static double[] paraVetorPlano(double[][] A) {
+        int n = A.length;
+        double[] a = new double[n * n];
+        for (int i = 0; i < n; i++) {
+            if (A[i].length != n) {
+                throw new IllegalArgumentException("A matriz deve ser quadrada!");
+            }
+            System.arraycopy(A[i], 0, a, i * n, n);
+        }
+        return a;
+    }
+
     // ---------------- Exemplo rápido de uso ----------------
     /**
      * Realiza a decomposicao LU de uma matriz A.
@@ -227,25 +725,25 @@ public class GaussEliminacao {
         System.out.println("x = " + Arrays.toString(resultado.solucao));
         
         System.out.println("\nEtapas da eliminacao:");
-        for (int k = 0; k <= A.length; k++) {
-            System.out.println("\nEtapa " + k + ":");
+        for (int e = 0; e < resultado.etapas.length; e++) {
+            System.out.println("\nEtapa " + resultado.indicesEtapas[e] + ":");
             for (int i = 0; i < A.length; i++) {
-                System.out.println(Arrays.toString(resultado.etapas[k][i]) + " | " + resultado.vetores[k][i]);
+                System.out.println(Arrays.toString(resultado.etapas[e][i]) + " | " + resultado.vetores[e][i]);
             }
         }
         
         System.out.println("\nMatriz de Permutacao P:");
-        for (double[] row : resultado.matrizP) {
+        for (double[] row : resultado.getMatrizP()) {
             System.out.println(Arrays.toString(row));
         }
         
         System.out.println("\nMatriz L da decomposicao LU:");
-        for (double[] row : resultado.matrizL) {
+        for (double[] row : resultado.getMatrizL()) {
             System.out.println(Arrays.toString(row));
         }
         
         System.out.println("\nMatriz U da decomposicao LU:");
-        for (double[] row : resultado.matrizU) {
+        for (double[] row : resultado.getMatrizU()) {
             System.out.println(Arrays.toString(row));
         }
     }
@@ -0,0 +1,421 @@
+package backend;
+
+import java.util.Arrays;
+
+/**
+ * Eliminacao de Gauss para sistemas esparsos Ax = b (A em MatrizEsparsa).
+ *
+ * Fases (separadas para que o padrao possa ser reaproveitado):
+ * 1) analisar: ordenacao de minimo grau aproximado sobre A + A^T (reduz o
+ *    preenchimento) e estimativa de nao nulos pela arvore de eliminacao
+ * 2) fatorar: LU numerica esquerda-olhando (Gilbert-Peierls) com
+ *    pivotamento parcial por limiar: a diagonal e preferida se
+ *    |a_kk| >= limiar * max|a_ik|; com limiar = 1 e o pivotamento parcial classico
+ * 3) refatorar: mesma ordem, mesmos pivos e mesmo padrao de L e U, apenas
+ *    recalculando os valores (para matrizes com o mesmo padrao)
+ * 4) solve: substituicoes progressiva e retroativa esparsas
+ *
+ * Resultado: P A Q = L U, com P das trocas de linha e Q da ordenacao.
+ */
+public class GaussEsparso {
+
+    // Limiar de pivotamento padrao (mesmo valor usual em codigos de LU esparsa)
+    public static final double LIMIAR_PIVO_PADRAO = 0.1;
+
+    /**
+     * Resolve Ax=b executando as tres fases.
+     * @param A matriz esparsa n x n
+     * @param b vetor de termos independentes (nao e alterado)
+     * @return vetor solucao x
+     */
+    public static double[] solve(MatrizEsparsa A, double[] b) {
+        AnaliseSimbolica simbolica = analisar(A);
+        return fatorar(simbolica, A, LIMIAR_PIVO_PADRAO).solve(b);
+    }
+
+    /**
+     * Fase simbolica: ordenacao que reduz preenchimento e estimativa de memoria.
+     * Depende apenas do padrao de A, entao pode ser reaproveitada para
+     * qualquer matriz com as mesmas posicoes nao nulas.
+     */
+    public static AnaliseSimbolica analisar(MatrizEsparsa A) {
+        int n = A.n;
+        int[][] grafo = padraoSimetrico(A);
+        int[] ptr = grafo[0], adj = grafo[1];
+        int[] q = OrdenacaoMinimoGrau.ordenar(n, ptr, adj);
+        int[] qinv = new int[n];
+        for (int k = 0; k < n; k++) qinv[q[k]] = k;
+
+        // Arvore de eliminacao de A + A^T permutada e contagem das linhas de L
+        int[] pai = new int[n];
+        int[] ancestral = new int[n];
+        int[] marca = new int[n];
+        Arrays.fill(marca, -1);
+        long naoNulosL = 0;
+        for (int k = 0; k < n; k++) {
+            pai[k] = -1;
+            ancestral[k] = -1;
+            int v = q[k];
+            for (int p = ptr[v]; p < ptr[v + 1]; p++) {
+                int i = qinv[adj[p]];
+                while (i != -1 && i < k) {
+                    int proximo = ancestral[i];
+                    ancestral[i] = k;
+                    if (proximo == -1) pai[i] = k;
+                    i = proximo;
+                }
+            }
+            // Linha k de L: caminhos na arvore a partir de cada vizinho anterior
+            marca[k] = k;
+            for (int p = ptr[v]; p < ptr[v + 1]; p++) {
+                int i = qinv[adj[p]];
+                if (i > k) continue;
+                while (i != -1 && marca[i] != k) {
+                    naoNulosL++;
+                    marca[i] = k;
+                    i = pai[i];
+                }
+            }
+        }
+        return new AnaliseSimbolica(A, q, pai, naoNulosL + n);
+    }
+
+    /**
+     * Fase numerica: LU com pivotamento parcial por limiar.
+     * @param simbolica resultado de analisar para o padrao de A
+     * @param A matriz com o mesmo padrao usado na analise
+     * @param limiarPivo em (0, 1]; 1 = pivotamento parcial classico
+     */
+    public static FatoracaoEsparsa fatorar(AnaliseSimbolica simbolica, MatrizEsparsa A, double limiarPivo) {
+        if (!simbolica.padrao.mesmoPadrao(A)) {
+            throw new IllegalArgumentException("A matriz nao tem o padrao usado na analise simbolica.");
+        }
+        if (!(limiarPivo > 0 && limiarPivo <= 1)) {
+            throw new IllegalArgumentException("Limiar de pivotamento deve estar em (0, 1].");
+        }
+        int n = A.n;
+        int[] q = simbolica.q;
+        MatrizEsparsa colunasA = A.transposta(); // linhas da transposta = colunas de A
+
+        int capacidade = (int) Math.min(Integer.MAX_VALUE - 8, Math.max(simbolica.naoNulosEstimados, 4L * A.naoNulos() + n));
+        int[] ptrL = new int[n + 1], ptrU = new int[n + 1];
+        int[] linL = new int[capacidade], linU = new int[capacidade];
+        double[] valL = new double[capacidade], valU = new double[capacidade];
+        int nnzL = 0, nnzU = 0;
+
+        int[] pinv = new int[n];
+        Arrays.fill(pinv, -1);
+        double[] x = new double[n];
+        int[] xi = new int[n];
+        int[] pilha = new int[n];
+        int[] posPilha = new int[n];
+        int[] marca = new int[n];
+        Arrays.fill(marca, -1);
+
+        for (int k = 0; k < n; k++) {
+            ptrL[k] = nnzL;
+            ptrU[k] = nnzU;
+            // Garante espaco para uma coluna cheia em L e em U
+            if (nnzL + n > linL.length) {
+                int nova = (int) Math.min(Integer.MAX_VALUE - 8, 2L * linL.length + n);
+                linL = Arrays.copyOf(linL, nova);
+                valL = Arrays.copyOf(valL, nova);
+            }
+            if (nnzU + n > linU.length) {
+                int nova = (int) Math.min(Integer.MAX_VALUE - 8, 2L * linU.length + n);
+                linU = Arrays.copyOf(linU, nova);
+                valU = Arrays.copyOf(valU, nova);
+            }
+
+            // x = L \ A(:, q[k]) apenas nas posicoes alcancaveis
+            int col = q[k];
+            int topo = n;
+            for (int p = colunasA.ptrLinha[col]; p < colunasA.ptrLinha[col + 1]; p++) {
+                int i = colunasA.colunas[p];
+                if (marca[i] != k) {
+                    topo = busca(i, k, ptrL, linL, pinv, marca, topo, xi, pilha, posPilha);
+                }
+            }
+            for (int p = topo; p < n; p++) x[xi[p]] = 0.0;
+            for (int p = colunasA.ptrLinha[col]; p < colunasA.ptrLinha[col + 1]; p++) {
+                x[colunasA.colunas[p]] = colunasA.valores[p];
+            }
+            for (int px = topo; px < n; px++) {
+                int j = xi[px];
+                int J = pinv[j];
+                if (J < 0) continue;
+                double xj = x[j];
+                for (int p = ptrL[J] + 1; p < ptrL[J + 1]; p++) {
+                    x[linL[p]] -= valL[p] * xj;
+                }
+            }
+
+            // Escolha do pivo entre as linhas ainda nao usadas; o resto vai para U
+            int ipiv = -1;
+            double maxAbs = -1;
+            for (int p = topo; p < n; p++) {
+                int i = xi[p];
+                if (pinv[i] < 0) {
+                    double t = Math.abs(x[i]);
+                    if (t > maxAbs) {
+                        maxAbs = t;
+                        ipiv = i;
+                    }
+                } else {
+                    linU[nnzU] = pinv[i];
+                    valU[nnzU++] = x[i];
+                }
+            }
+            if (ipiv == -1 || maxAbs < 1e-15) {
+                throw new ArithmeticException("Sistema singular ou pivo numericamente nulo na etapa k=" + k);
+            }
+            // Preferencia pela diagonal (preserva a ordenacao e o preenchimento)
+            if (pinv[col] < 0 && marca[col] == k && Math.abs(x[col]) >= limiarPivo * maxAbs) {
+                ipiv = col;
+            }
+
+            double pivo = x[ipiv];
+            linU[nnzU] = k;
+            valU[nnzU++] = pivo;
+            pinv[ipiv] = k;
+            linL[nnzL] = ipiv;
+            valL[nnzL++] = 1.0;
+            for (int p = topo; p < n; p++) {
+                int i = xi[p];
+                if (pinv[i] < 0) {
+                    linL[nnzL] = i;
+                    valL[nnzL++] = x[i] / pivo;
+                }
+                x[i] = 0.0;
+            }
+        }
+        ptrL[n] = nnzL;
+        ptrU[n] = nnzU;
+        // Linhas de L passam a ser indexadas pela posicao do pivo
+        for (int p = 0; p < nnzL; p++) linL[p] = pinv[linL[p]];
+
+        return new FatoracaoEsparsa(simbolica, limiarPivo, pinv,
+                ptrL, Arrays.copyOf(linL, nnzL), Arrays.copyOf(valL, nnzL),
+                ptrU, Arrays.copyOf(linU, nnzU), Arrays.copyOf(valU, nnzU));
+    }
+
+    // Busca em profundidade nao recursiva no grafo de L a partir de j;
+    // devolve o novo topo de xi, que fica em ordem topologica
+    private static int busca(int j, int k, int[] ptrL, int[] linL, int[] pinv, int[] marca,
+                             int topo, int[] xi, int[] pilha, int[] posPilha) {
+        int cabeca = 0;
+        pilha[0] = j;
+        while (cabeca >= 0) {
+            j = pilha[cabeca];
+            int jnovo = pinv[j];
+            if (marca[j] != k) {
+                marca[j] = k;
+                posPilha[cabeca] = jnovo < 0 ? 0 : ptrL[jnovo];
+            }
+            boolean terminou = true;
+            int fim = jnovo < 0 ? 0 : ptrL[jnovo + 1];
+            for (int p = posPilha[cabeca]; p < fim; p++) {
+                int i = linL[p];
+                if (marca[i] == k) continue;
+                posPilha[cabeca] = p;
+                pilha[++cabeca] = i;
+                terminou = false;
+                break;
+            }
+            if (terminou) {
+                cabeca--;
+                xi[--topo] = j;
+            }
+        }
+        return topo;
+    }
+
+    // Padrao de A + A^T sem a diagonal, em listas de adjacencia comprimidas
+    private static int[][] padraoSimetrico(MatrizEsparsa A) {
+        int n = A.n;
+        MatrizEsparsa At = A.transposta();
+        int[] ptr = new int[n + 1];
+        int[] marca = new int[n];
+        Arrays.fill(marca, -1);
+        for (int i = 0; i < n; i++) {
+            marca[i] = i;
+            int cont = 0;
+            for (int p = A.ptrLinha[i]; p < A.ptrLinha[i + 1]; p++) {
+                int j = A.colunas[p];
+                if (marca[j] != i) { marca[j] = i; cont++; }
+            }
+            for (int p = At.ptrLinha[i]; p < At.ptrLinha[i + 1]; p++) {
+                int j = At.colunas[p];
+                if (marca[j] != i) { marca[j] = i; cont++; }
+            }
+            ptr[i + 1] = ptr[i] + cont;
+        }
+        int[] adj = new int[ptr[n]];
+        Arrays.fill(marca, -1);
+        for (int i = 0; i < n; i++) {
+            marca[i] = i;
+            int pos = ptr[i];
+            for (int p = A.ptrLinha[i]; p < A.ptrLinha[i + 1]; p++) {
+                int j = A.colunas[p];
+                if (marca[j] != i) { marca[j] = i; adj[pos++] = j; }
+            }
+            for (int p = At.ptrLinha[i]; p < At.ptrLinha[i + 1]; p++) {
+                int j = At.colunas[p];
+                if (marca[j] != i) { marca[j] = i; adj[pos++] = j; }
+            }
+        }
+        return new int[][] {ptr, adj};
+    }
+
+    /**
+     * Resultado da fase simbolica: ordem das colunas, arvore de eliminacao
+     * e estimativa de nao nulos de L (usada para pre-alocar a fatoracao).
+     */
+    public static class AnaliseSimbolica {
+        final MatrizEsparsa padrao;
+        final int[] q;
+        final int[] arvoreEliminacao;
+        final long naoNulosEstimados;
+
+        AnaliseSimbolica(MatrizEsparsa padrao, int[] q, int[] arvoreEliminacao, long naoNulosEstimados) {
+            this.padrao = padrao;
+            this.q = q;
+            this.arvoreEliminacao = arvoreEliminacao;
+            this.naoNulosEstimados = naoNulosEstimados;
+        }
+
+        // Ordem das colunas: q[k] e a coluna original eliminada na posicao k
+        public int[] getOrdem() {
+            return q.clone();
+        }
+
+        public long getNaoNulosEstimados() {
+            return naoNulosEstimados;
+        }
+    }
+
+    /**
+     * Fatores esparsos P A Q = L U em colunas comprimidas.
+     * L tem diagonal unitaria guardada no inicio de cada coluna;
+     * U tem a diagonal guardada no fim de cada coluna.
+     */
+    public static class FatoracaoEsparsa {
+        private final AnaliseSimbolica simbolica;
+        private final double limiarPivo;
+        private final int n;
+        private final int[] pinv;
+        private final int[] ptrL, linL;
+        private final double[] valL;
+        private final int[] ptrU, linU;
+        private final double[] valU;
+
+        FatoracaoEsparsa(AnaliseSimbolica simbolica, double limiarPivo, int[] pinv,
+                         int[] ptrL, int[] linL, double[] valL,
+                         int[] ptrU, int[] linU, double[] valU) {
+            this.simbolica = simbolica;
+            this.limiarPivo = limiarPivo;
+            this.n = pinv.length;
+            this.pinv = pinv;
+            this.ptrL = ptrL; this.linL = linL; this.valL = valL;
+            this.ptrU = ptrU; this.linU = linU; this.valU = valU;
+        }
+
+        /**
+         * Resolve Ax=b com os fatores.
+         * @param b vetor de termos independentes (nao e alterado)
+         * @return vetor solucao x
+         */
+        public double[] solve(double[] b) {
+            if (b.length != n) {
+                throw new IllegalArgumentException("Dimensoes invalidas: b deve ter tamanho " + n + ".");
+            }
+            double[] y = new double[n];
+            // y = P b
+            for (int i = 0; i < n; i++) y[pinv[i]] = b[i];
+            // Ly = Pb (coluna a coluna)
+            for (int j = 0; j < n; j++) {
+                double yj = y[j];
+                if (yj == 0.0) continue;
+                for (int p = ptrL[j] + 1; p < ptrL[j + 1]; p++) {
+                    y[linL[p]] -= valL[p] * yj;
+                }
+            }
+            // Uz = y (coluna a coluna, de tras para frente)
+            for (int j = n - 1; j >= 0; j--) {
+                y[j] /= valU[ptrU[j + 1] - 1];
+                double yj = y[j];
+                if (yj == 0.0) continue;
+                for (int p = ptrU[j]; p < ptrU[j + 1] - 1; p++) {
+                    y[linU[p]] -= valU[p] * yj;
+                }
+            }
+            // x = Q z
+            double[] x = new double[n];
+            int[] q = simbolica.q;
+            for (int k = 0; k < n; k++) x[q[k]] = y[k];
+            return x;
+        }
+
+        /**
+         * Refatora uma matriz com o mesmo padrao reaproveitando a ordem, os pivos
+         * e o padrao de L e U: so os valores sao recalculados, sem buscas no grafo.
+         * Se algum pivo reaproveitado deixar de ser aceitavel pelo limiar,
+         * faz a fatoracao numerica completa.
+         */
+        public FatoracaoEsparsa refatorar(MatrizEsparsa A) {
+            if (!simbolica.padrao.mesmoPadrao(A)) {
+                throw new IllegalArgumentException("A matriz nao tem o padrao usado na analise simbolica.");
+            }
+            MatrizEsparsa colunasA = A.transposta();
+            int[] q = simbolica.q;
+            double[] novoL = new double[valL.length];
+            double[] novoU = new double[valU.length];
+            double[] x = new double[n];
+            for (int k = 0; k < n; k++) {
+                int col = q[k];
+                for (int p = colunasA.ptrLinha[col]; p < colunasA.ptrLinha[col + 1]; p++) {
+                    x[pinv[colunasA.colunas[p]]] = colunasA.valores[p];
+                }
+                // Entradas de U na mesma ordem topologica da fatoracao original
+                int fimU = ptrU[k + 1] - 1;
+                for (int p = ptrU[k]; p < fimU; p++) {
+                    int J = linU[p];
+                    double ujk = x[J];
+                    x[J] = 0.0;
+                    novoU[p] = ujk;
+                    if (ujk == 0.0) continue;
+                    for (int pp = ptrL[J] + 1; pp < ptrL[J + 1]; pp++) {
+                        x[linL[pp]] -= novoL[pp] * ujk;
+                    }
+                }
+                double pivo = x[k];
+                x[k] = 0.0;
+                double maxAbs = Math.abs(pivo);
+                for (int p = ptrL[k] + 1; p < ptrL[k + 1]; p++) {
+                    maxAbs = Math.max(maxAbs, Math.abs(x[linL[p]]));
+                }
+                if (maxAbs < 1e-15 || Math.abs(pivo) < limiarPivo * maxAbs) {
+                    // Pivo reaproveitado ficou instavel: refaz com nova escolha de pivos
+                    return fatorar(simbolica, A, limiarPivo);
+                }
+                novoU[fimU] = pivo;
+                novoL[ptrL[k]] = 1.0;
+                for (int p = ptrL[k] + 1; p < ptrL[k + 1]; p++) {
+                    int i = linL[p];
+                    novoL[p] = x[i] / pivo;
+                    x[i] = 0.0;
+                }
+            }
+            return new FatoracaoEsparsa(simbolica, limiarPivo, pinv,
+                    ptrL, linL, novoL, ptrU, linU, novoU);
+        }
+
+        public long naoNulosL() {
+            return ptrL[n];
+        }
+
+        public long naoNulosU() {
+            return ptrU[n];
+        }
+    }
+}
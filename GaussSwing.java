@@ -148,7 +148,7 @@ public class GaussSwing extends JPanel {
             sb.append("\nMatriz de Permutação P:\n");
             for (int i = 0; i < n; i++) {
                 for (int j = 0; j < n; j++) {
-                    sb.append(String.format("%8.3f", resultado.matrizP[i][j]));
+                    sb.append(String.format("%8.3f", resultado.getMatrizP()[i][j]));
                 }
                 sb.append("\n");
             }
@@ -157,7 +157,7 @@ public class GaussSwing extends JPanel {
             sb.append("L = \n");
             for (int i = 0; i < n; i++) {
                 for (int j = 0; j < n; j++) {
-                    sb.append(String.format("%8.3f", resultado.matrizL[i][j]));
+                    sb.append(String.format("%8.3f", resultado.getMatrizL()[i][j]));
                 }
                 sb.append("\n");
             }
@@ -165,7 +165,7 @@ public class GaussSwing extends JPanel {
             sb.append("\nU = \n");
             for (int i = 0; i < n; i++) {
                 for (int j = 0; j < n; j++) {
-                    sb.append(String.format("%8.3f", resultado.matrizU[i][j]));
+                    sb.append(String.format("%8.3f", resultado.getMatrizU()[i][j]));
                 }
                 sb.append("\n");
             }
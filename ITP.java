@@ -0,0 +1,80 @@
+package backend;
+
+import java.util.function.DoubleUnaryOperator;
+
+/**
+ * Metodo ITP (Interpolate, Truncate, Project; Oliveira e Takahashi, 2020).
+ *
+ * Parte do ponto da regula falsi, puxa-o um pouco para o meio (truncamento,
+ * delta = K1 (b - a)^K2) e o projeta numa vizinhanca do ponto medio cujo
+ * raio encolhe a cada passo. Nunca gasta mais que N0 iteracoes alem da
+ * bisseccao (log2((b - a) / 2tol)) e converge superlinearmente em funcoes
+ * bem comportadas.
+ */
+public class ITP implements MetodoRaiz {
+
+    // Parametros recomendados no artigo (K1 = 0.2 / (b - a))
+    private static final double K1_RELATIVO = 0.2;
+    private static final double K2 = 2.0;
+    private static final int N0 = 1;
+
+    @Override
+    public String nome() {
+        return "ITP";
+    }
+
+    @Override
+    public String toString() {
+        return nome();
+    }
+
+    @Override
+    public ResultadoRaiz resolver(DoubleUnaryOperator f, DoubleUnaryOperator df,
+                                  double a, double b, double fa, double fb, double tol, int iterMax) {
+        MetodoRaiz.exigirTroca(fa, fb);
+        if (a > b) {
+            double t = a; a = b; b = t;
+            t = fa; fa = fb; fb = t;
+        }
+        // trabalha com g = sinal * f, g(a) < 0 < g(b)
+        double sinal = fa < 0 ? 1.0 : -1.0;
+        double ya = sinal * fa, yb = sinal * fb;
+        double k1 = K1_RELATIVO / (b - a);
+        int nMax = (int) Math.ceil(Math.log((b - a) / (2.0 * tol)) / Math.log(2.0)) + N0;
+        int avaliacoes = 0;
+        int iter = 0;
+        while (b - a > 2.0 * tol && iter < iterMax) {
+            double meio = 0.5 * (a + b);
+            double raio = Math.max(0.0, tol * Math.pow(2.0, nMax - iter) - 0.5 * (b - a));
+            double delta = k1 * Math.pow(b - a, K2);
+            // interpolacao (regula falsi)
+            double xf = (yb * a - ya * b) / (yb - ya);
+            // truncamento
+            double sigma = Math.signum(meio - xf);
+            double xt = delta <= Math.abs(meio - xf) ? xf + sigma * delta : meio;
+            // projecao
+            double x = Math.abs(xt - meio) <= raio ? xt : meio - sigma * raio;
+            double fx = f.applyAsDouble(x);
+            avaliacoes++;
+            iter++;
+            if (!Double.isFinite(fx)) {
+                return new ResultadoRaiz(x, fx, a, b, iter, avaliacoes, false);
+            }
+            if (Math.abs(fx) <= tol) {
+                return new ResultadoRaiz(x, fx, a, b, iter, avaliacoes, true);
+            }
+            double y = sinal * fx;
+            if (y > 0) {
+                b = x;
+                yb = y;
+            } else {
+                a = x;
+                ya = y;
+            }
+        }
+        double x = 0.5 * (a + b);
+        double fx = f.applyAsDouble(x);
+        avaliacoes++;
+        return new ResultadoRaiz(x, fx, a, b, iter, avaliacoes, b - a <= 2.0 * tol && Double.isFinite(fx));
+    }
+}
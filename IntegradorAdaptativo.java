@@ -0,0 +1,305 @@
+package backend;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Integracao numerica adaptativa de f(x) em [a, b] por Gauss-Kronrod
+ * (G7-K15, a regra qk15 do QUADPACK).
+ *
+ * Os subintervalos ficam num heap global ordenado pelo erro estimado. A cada
+ * rodada sao retirados os piores (os que precisam ser divididos para o erro
+ * total cair abaixo da tolerancia, ate um limite por rodada); cada um e
+ * dividido ao meio e os filhos sao calculados em paralelo num ForkJoinPool.
+ * Cada tarefa junta os 15 nos de todos os seus subintervalos num unico
+ * vetor e avalia f com Expr.evalMany (avaliacao em lote).
+ */
+public class IntegradorAdaptativo {
+
+    public static final int MAX_SUBINTERVALOS_PADRAO = 10_000;
+
+    // Subintervalos por tarefa do fork/join (15 avaliacoes cada)
+    private static final int LOTE_TAREFA = 16;
+
+    // Nos de Kronrod (>= 0, simetricos); os de indice impar sao os de Gauss
+    private static final double[] XGK = {
+        0.991455371120812639206854697526329, 0.949107912342758524526189684047851,
+        0.864864423359769072789712788640926, 0.741531185599394439863864773280788,
+        0.586087235467691130294144845693013, 0.405845151377397166906606412076961,
+        0.207784955007898467600689403773245, 0.000000000000000000000000000000000
+    };
+    private static final double[] WGK = {
+        0.022935322010529224963732008058970, 0.063092092629978553290700663189204,
+        0.104790010322250183839876322541518, 0.140653259715525918745189590510238,
+        0.169004726639267902826583426598550, 0.190350578064785409913256402421014,
+        0.204432940075298892414161999234649, 0.209482141084727828012999174891714
+    };
+    // Pesos de Gauss para XGK[1], XGK[3], XGK[5], XGK[7]
+    private static final double[] WG = {
+        0.129484966168869693270611432679082, 0.279705391489276667901467771423780,
+        0.381830050505118944950369775488975, 0.417959183673469387755102040816327
+    };
+
+    // Resultado da integracao
+    public static class ResultadoIntegral {
+        public final double valor;           // aproximacao da integral
+        public final double erroEstimado;    // soma dos erros estimados dos subintervalos
+        public final int subintervalos;      // subintervalos finais
+        public final int avaliacoes;         // avaliacoes de f
+        public final boolean convergiu;      // false se o limite de subintervalos ou o arredondamento impediu a tolerancia
+
+        ResultadoIntegral(double valor, double erroEstimado, int subintervalos, int avaliacoes, boolean convergiu) {
+            this.valor = valor;
+            this.erroEstimado = erroEstimado;
+            this.subintervalos = subintervalos;
+            this.avaliacoes = avaliacoes;
+            this.convergiu = convergiu;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("Integral ~ %.15g  (erro ~ %.2e, subintervalos: %d, aval: %d)",
+                    valor, erroEstimado, subintervalos, avaliacoes);
+        }
+    }
+
+    // Subintervalo com a estimativa K15 e o erro |K15 - G7| ajustado
+    private static final class Subintervalo implements Comparable<Subintervalo> {
+        final double a, b;
+        double valor, erro;
+
+        Subintervalo(double a, double b) {
+            this.a = a;
+            this.b = b;
+        }
+
+        // maior erro primeiro
+        @Override
+        public int compareTo(Subintervalo o) {
+            return Double.compare(o.erro, erro);
+        }
+
+        // Largura no limite da precisao double: dividir nao ajuda mais
+        boolean indivisivel() {
+            double m = 0.5 * (a + b);
+            return !(m > a && m < b) || (b - a) <= 1e-14 * Math.max(Math.abs(a), Math.abs(b));
+        }
+    }
+
+    /**
+     * Integral de f em [a, b] com o pool comum, parando quando o erro
+     * estimado fica <= max(tol, tol * |integral|).
+     */
+    public static ResultadoIntegral integrar(String funcao, double a, double b, double tol) {
+        return integrar(CacheExpr.global().obter(funcao), a, b, tol, tol,
+                MAX_SUBINTERVALOS_PADRAO, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * @param tolAbs tolerancia absoluta
+     * @param tolRel tolerancia relativa (a maior das duas vale)
+     * @param maxSubintervalos limite de subintervalos
+     * @param pool pool a usar; null calcula tudo na thread atual
+     */
+    static ResultadoIntegral integrar(BisseccaoSwing.Expr f, double a, double b, double tolAbs, double tolRel,
+                                      int maxSubintervalos, ForkJoinPool pool) {
+        if (!Double.isFinite(a) || !Double.isFinite(b)) {
+            throw new IllegalArgumentException("Limites de integracao devem ser finitos.");
+        }
+        if (!(tolAbs >= 0) || !(tolRel >= 0) || (tolAbs == 0 && tolRel == 0)) {
+            throw new IllegalArgumentException("Tolerancia deve ser > 0.");
+        }
+        if (a == b) return new ResultadoIntegral(0.0, 0.0, 0, 0, true);
+        if (a > b) {
+            ResultadoIntegral r = integrar(f, b, a, tolAbs, tolRel, maxSubintervalos, pool);
+            return new ResultadoIntegral(-r.valor, r.erroEstimado, r.subintervalos, r.avaliacoes, r.convergiu);
+        }
+        int porRodada = Math.max(8, 4 * (pool == null ? 1 : pool.getParallelism()));
+
+        PriorityQueue<Subintervalo> heap = new PriorityQueue<>();
+        List<Subintervalo> finais = new ArrayList<>(); // indivisiveis, fora do heap
+        Subintervalo inicial = new Subintervalo(a, b);
+        calcular(f, List.of(inicial), pool);
+        heap.add(inicial);
+        int avaliacoes = 15;
+
+        // Totais mantidos a cada troca de pai por filhos; subintervalos com valor
+        // ou erro nao finito sao contados a parte (infinito nao pode ser subtraido)
+        Totais totais = new Totais();
+        totais.somar(inicial, 1);
+
+        List<Subintervalo> filhos = new ArrayList<>();
+        while (!heap.isEmpty() && heap.size() + finais.size() < maxSubintervalos) {
+            double alvo = alvo(totais.valor(), tolAbs, tolRel);
+            if (totais.erro() <= alvo) {
+                // confirma sem o arredondamento acumulado nas atualizacoes
+                totais = new Totais();
+                for (Subintervalo s : heap) totais.somar(s, 1);
+                for (Subintervalo s : finais) totais.somar(s, 1);
+                alvo = alvo(totais.valor(), tolAbs, tolRel);
+                if (totais.erro() <= alvo) break;
+            }
+
+            // Retira os piores ate que o erro que sobra no heap caiba na tolerancia
+            int limite = Math.min(porRodada, maxSubintervalos - heap.size() - finais.size());
+            double restante = totais.erro();
+            filhos.clear();
+            while (!heap.isEmpty() && filhos.size() / 2 < limite && restante > alvo) {
+                Subintervalo s = heap.poll();
+                if (s.indivisivel()) {
+                    finais.add(s);
+                    continue;
+                }
+                restante -= s.erro;
+                totais.somar(s, -1);
+                double m = 0.5 * (s.a + s.b);
+                filhos.add(new Subintervalo(s.a, m));
+                filhos.add(new Subintervalo(m, s.b));
+            }
+            if (filhos.isEmpty()) break;
+            calcular(f, filhos, pool);
+            avaliacoes += 15 * filhos.size();
+            for (Subintervalo s : filhos) totais.somar(s, 1);
+            heap.addAll(filhos);
+        }
+
+        // Soma final em ordem de posicao (sem o erro acumulado das atualizacoes)
+        List<Subintervalo> todos = new ArrayList<>(heap);
+        todos.addAll(finais);
+        todos.sort((p, q) -> Double.compare(p.a, q.a));
+        double soma = 0.0, c = 0.0, erroTotal = 0.0;
+        for (Subintervalo s : todos) {
+            // soma compensada (Kahan)
+            double y = s.valor - c;
+            double t = soma + y;
+            c = (t - soma) - y;
+            soma = t;
+            erroTotal += s.erro;
+        }
+        boolean convergiu = erroTotal <= alvo(soma, tolAbs, tolRel);
+        return new ResultadoIntegral(soma, erroTotal, todos.size(), avaliacoes, convergiu);
+    }
+
+    // Soma dos valores e erros dos subintervalos ativos
+    private static final class Totais {
+        private double valor, erro;
+        private int naoFinitos;
+
+        // sinal = 1 inclui s, -1 retira s
+        void somar(Subintervalo s, int sinal) {
+            if (Double.isFinite(s.valor) && Double.isFinite(s.erro)) {
+                valor += sinal * s.valor;
+                erro += sinal * s.erro;
+            } else {
+                naoFinitos += sinal;
+            }
+        }
+
+        double valor() {
+            return naoFinitos > 0 ? Double.NaN : valor;
+        }
+
+        double erro() {
+            return naoFinitos > 0 ? Double.POSITIVE_INFINITY : erro;
+        }
+    }
+
+    // Erro aceitavel para a integral valor (so a parte absoluta se valor nao for finito)
+    private static double alvo(double valor, double tolAbs, double tolRel) {
+        return Double.isFinite(valor) ? Math.max(tolAbs, tolRel * Math.abs(valor)) : tolAbs;
+    }
+
+    // Calcula K15/G7 de cada subintervalo, em paralelo se houver pool e mais de um lote
+    private static void calcular(BisseccaoSwing.Expr f, List<Subintervalo> lista, ForkJoinPool pool) {
+        if (pool != null && lista.size() > LOTE_TAREFA) {
+            pool.invoke(new TarefaLote(f, lista, 0, lista.size()));
+            return;
+        }
+        for (int ini = 0; ini < lista.size(); ini += LOTE_TAREFA) {
+            calcularLote(f, lista, ini, Math.min(lista.size(), ini + LOTE_TAREFA));
+        }
+    }
+
+    private static final class TarefaLote extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+        private final BisseccaoSwing.Expr f;
+        private final List<Subintervalo> lista;
+        private final int ini, fim;
+
+        TarefaLote(BisseccaoSwing.Expr f, List<Subintervalo> lista, int ini, int fim) {
+            this.f = f;
+            this.lista = lista;
+            this.ini = ini;
+            this.fim = fim;
+        }
+
+        @Override
+        protected void compute() {
+            if (fim - ini > LOTE_TAREFA) {
+                int meio = (ini + fim) >>> 1;
+                invokeAll(new TarefaLote(f, lista, ini, meio), new TarefaLote(f, lista, meio, fim));
+            } else {
+                calcularLote(f, lista, ini, fim);
+            }
+        }
+    }
+
+    // Todos os nos de lista[ini..fim) num vetor so, avaliado em lote
+    private static void calcularLote(BisseccaoSwing.Expr f, List<Subintervalo> lista, int ini, int fim) {
+        int m = fim - ini;
+        double[] xs = new double[15 * m];
+        double[] fs = new double[15 * m];
+        for (int k = 0; k < m; k++) {
+            Subintervalo s = lista.get(ini + k);
+            double centro = 0.5 * (s.a + s.b), meia = 0.5 * (s.b - s.a);
+            int p = 15 * k;
+            xs[p] = centro;
+            for (int j = 0; j < 7; j++) {
+                double d = meia * XGK[j];
+                xs[p + 1 + 2 * j] = centro - d;
+                xs[p + 2 + 2 * j] = centro + d;
+            }
+        }
+        f.evalMany(xs, fs, xs.length);
+        for (int k = 0; k < m; k++) {
+            regra(lista.get(ini + k), fs, 15 * k);
+        }
+    }
+
+    // K15, G7 e a estimativa de erro do QUADPACK (qk15) para um subintervalo
+    private static void regra(Subintervalo s, double[] fs, int p) {
+        double meia = 0.5 * (s.b - s.a);
+        double fc = fs[p];
+        double resk = fc * WGK[7];
+        double resg = fc * WG[3];
+        double resabs = Math.abs(resk);
+        for (int j = 0; j < 7; j++) {
+            double f1 = fs[p + 1 + 2 * j], f2 = fs[p + 2 + 2 * j];
+            resk += WGK[j] * (f1 + f2);
+            resabs += WGK[j] * (Math.abs(f1) + Math.abs(f2));
+            if ((j & 1) == 1) resg += WG[j / 2] * (f1 + f2);
+        }
+        double media = 0.5 * resk;
+        double resasc = WGK[7] * Math.abs(fc - media);
+        for (int j = 0; j < 7; j++) {
+            resasc += WGK[j] * (Math.abs(fs[p + 1 + 2 * j] - media) + Math.abs(fs[p + 2 + 2 * j] - media));
+        }
+        double absMeia = Math.abs(meia);
+        resasc *= absMeia;
+        resabs *= absMeia;
+        double erro = Math.abs((resk - resg) * meia);
+        if (resasc != 0.0 && erro != 0.0) {
+            erro = resasc * Math.min(1.0, Math.pow(200.0 * erro / resasc, 1.5));
+        }
+        double eps = Math.ulp(1.0);
+        if (resabs > Double.MIN_NORMAL / (50.0 * eps)) {
+            erro = Math.max(50.0 * eps * resabs, erro);
+        }
+        s.valor = resk * meia;
+        // valor invalido (NaN, infinito): erro infinito, o subintervalo e dividido primeiro
+        s.erro = Double.isFinite(s.valor) && Double.isFinite(erro) ? erro : Double.POSITIVE_INFINITY;
+    }
+}
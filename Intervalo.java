@@ -0,0 +1,288 @@
+package backend;
+
+/**
+ * Intervalo fechado [inf, sup] de numeros reais, com aritmetica intervalar.
+ *
+ * Cada operacao devolve um intervalo que contem todos os resultados possiveis
+ * para operandos dentro dos intervalos de entrada (arredondamento para fora:
+ * o limite inferior e arredondado para baixo e o superior para cima). Por
+ * isso, se f avaliada em [a, b] nao contem 0, f nao tem raiz em [a, b].
+ *
+ * Funcoes fora do dominio ficam restritas a parte valida (sqrt([-1, 4]) =
+ * [0, 2]); se nao ha parte valida o resultado e VAZIO. Divisao por um
+ * intervalo que contem 0 devolve INTEIRO (-inf, +inf).
+ */
+public final class Intervalo {
+
+    public static final Intervalo VAZIO = new Intervalo(Double.NaN, Double.NaN);
+    public static final Intervalo INTEIRO = new Intervalo(Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY);
+
+    private static final double DOIS_PI = 2.0 * Math.PI;
+
+    public final double inf, sup;
+
+    private Intervalo(double inf, double sup) {
+        this.inf = inf;
+        this.sup = sup;
+    }
+
+    /**
+     * [inf, sup] exatamente como dados.
+     * @throws IllegalArgumentException se inf > sup ou algum limite for NaN
+     */
+    public static Intervalo de(double inf, double sup) {
+        if (!(inf <= sup)) {
+            throw new IllegalArgumentException("Intervalo invalido: [" + inf + ", " + sup + "]");
+        }
+        return new Intervalo(inf, sup);
+    }
+
+    // Intervalo degenerado [v, v]
+    public static Intervalo ponto(double v) {
+        return de(v, v);
+    }
+
+    // Limites ja arredondados; NaN (ex.: inf - inf) vira INTEIRO
+    private static Intervalo criar(double inf, double sup) {
+        if (Double.isNaN(inf) || Double.isNaN(sup)) return INTEIRO;
+        return new Intervalo(inf, sup);
+    }
+
+    public boolean vazio() {
+        return Double.isNaN(inf);
+    }
+
+    public boolean contemZero() {
+        return inf <= 0.0 && sup >= 0.0;
+    }
+
+    public boolean contem(double v) {
+        return inf <= v && v <= sup;
+    }
+
+    public double largura() {
+        return sup - inf;
+    }
+
+    public double meio() {
+        if (Double.isInfinite(inf) || Double.isInfinite(sup)) {
+            return Double.isInfinite(inf) && Double.isInfinite(sup) ? 0.0
+                    : Double.isInfinite(inf) ? -Double.MAX_VALUE : Double.MAX_VALUE;
+        }
+        double m = 0.5 * (inf + sup);
+        return Double.isInfinite(m) ? 0.5 * inf + 0.5 * sup : m;
+    }
+
+    public Intervalo intersecao(Intervalo o) {
+        if (vazio() || o.vazio()) return VAZIO;
+        double a = Math.max(inf, o.inf), b = Math.min(sup, o.sup);
+        return a <= b ? new Intervalo(a, b) : VAZIO;
+    }
+
+    // ---------------------- Arredondamento para fora -----------------------
+    // + - * / sao corretamente arredondadas (erro < 1 ulp): basta 1 passo.
+    // Funcoes de Math tem erro de ate 1 ulp: 2 passos por seguranca.
+
+    private static double baixo(double v) {
+        return Math.nextDown(v);
+    }
+
+    private static double cima(double v) {
+        return Math.nextUp(v);
+    }
+
+    private static double baixo2(double v) {
+        return Math.nextDown(Math.nextDown(v));
+    }
+
+    private static double cima2(double v) {
+        return Math.nextUp(Math.nextUp(v));
+    }
+
+    // ---------------------------- Operacoes -------------------------------
+
+    public Intervalo neg() {
+        if (vazio()) return VAZIO;
+        return new Intervalo(-sup, -inf);
+    }
+
+    public Intervalo soma(Intervalo o) {
+        if (vazio() || o.vazio()) return VAZIO;
+        return criar(baixo(inf + o.inf), cima(sup + o.sup));
+    }
+
+    public Intervalo sub(Intervalo o) {
+        if (vazio() || o.vazio()) return VAZIO;
+        return criar(baixo(inf - o.sup), cima(sup - o.inf));
+    }
+
+    public Intervalo mul(Intervalo o) {
+        if (vazio() || o.vazio()) return VAZIO;
+        double p1 = produto(inf, o.inf), p2 = produto(inf, o.sup);
+        double p3 = produto(sup, o.inf), p4 = produto(sup, o.sup);
+        return criar(baixo(Math.min(Math.min(p1, p2), Math.min(p3, p4))),
+                cima(Math.max(Math.max(p1, p2), Math.max(p3, p4))));
+    }
+
+    // 0 * inf = 0 (limites de intervalos limitados)
+    private static double produto(double a, double b) {
+        return (a == 0.0 || b == 0.0) ? 0.0 : a * b;
+    }
+
+    public Intervalo div(Intervalo o) {
+        if (vazio() || o.vazio()) return VAZIO;
+        if (o.inf == 0.0 && o.sup == 0.0) return VAZIO;
+        if (o.contemZero()) return INTEIRO;
+        double q1 = inf / o.inf, q2 = inf / o.sup, q3 = sup / o.inf, q4 = sup / o.sup;
+        return criar(baixo(Math.min(Math.min(q1, q2), Math.min(q3, q4))),
+                cima(Math.max(Math.max(q1, q2), Math.max(q3, q4))));
+    }
+
+    // x^n para n inteiro (potencias pares nao ficam negativas)
+    public Intervalo potInt(int n) {
+        if (vazio()) return VAZIO;
+        if (n == 0) return ponto(1.0);
+        if (n < 0) return ponto(1.0).div(potInt(-n));
+        if (n == 1) return this;
+        if ((n & 1) == 1) {
+            // impar: crescente
+            return criar(baixo2(potencia(inf, n)), cima2(potencia(sup, n)));
+        }
+        double a = Math.abs(inf), b = Math.abs(sup);
+        double menor = contemZero() ? 0.0 : Math.min(a, b);
+        double lo = menor == 0.0 ? 0.0 : Math.max(0.0, baixo2(Math.pow(menor, n)));
+        return criar(lo, cima2(Math.pow(Math.max(a, b), n)));
+    }
+
+    private static double potencia(double v, int n) {
+        double p = Math.pow(Math.abs(v), n);
+        return v < 0 ? -p : p;
+    }
+
+    // x^y geral; expoente constante inteiro usa potInt, o resto exp(y * ln x)
+    public Intervalo pow(Intervalo y) {
+        if (vazio() || y.vazio()) return VAZIO;
+        if (y.inf == y.sup && y.inf == Math.rint(y.inf) && Math.abs(y.inf) <= Integer.MAX_VALUE) {
+            return potInt((int) y.inf);
+        }
+        Intervalo r = sup >= 0.0 ? powPositiva(intersecao(de(0.0, sup)), y) : VAZIO;
+        if (inf < 0.0 && Math.floor(y.sup) >= Math.ceil(y.inf)) {
+            // Base negativa: Math.pow so e real para expoentes inteiros (que
+            // existem em y); o modulo e |x|^y e o sinal depende da paridade
+            Intervalo m = powPositiva(de(0.0, -inf).intersecao(neg()), y);
+            Intervalo negativa = criar(-m.sup, m.sup);
+            r = r.vazio() ? negativa : criar(Math.min(r.inf, negativa.inf), Math.max(r.sup, negativa.sup));
+        }
+        return r;
+    }
+
+    // x^y para x >= 0, por exp(y * ln x)
+    private static Intervalo powPositiva(Intervalo x, Intervalo y) {
+        Intervalo r = y.mul(x.log()).exp();
+        if (x.inf == 0.0) {
+            // 0^y: 0 para y > 0, 1 para y = 0 (log(0) = -inf nao cobre estes pontos)
+            if (y.sup > 0.0) r = criar(Math.min(r.inf, 0.0), r.sup);
+            if (y.contemZero()) r = criar(Math.min(r.inf, 1.0), Math.max(r.sup, 1.0));
+        }
+        return r;
+    }
+
+    public Intervalo exp() {
+        if (vazio()) return VAZIO;
+        return criar(Math.max(0.0, baixo2(Math.exp(inf))), cima2(Math.exp(sup)));
+    }
+
+    public Intervalo log() {
+        if (vazio() || sup < 0.0) return VAZIO;
+        double lo = inf <= 0.0 ? Double.NEGATIVE_INFINITY : baixo2(Math.log(inf));
+        return criar(lo, cima2(Math.log(sup)));
+    }
+
+    public Intervalo log10() {
+        if (vazio() || sup < 0.0) return VAZIO;
+        double lo = inf <= 0.0 ? Double.NEGATIVE_INFINITY : baixo2(Math.log10(inf));
+        return criar(lo, cima2(Math.log10(sup)));
+    }
+
+    public Intervalo sqrt() {
+        if (vazio() || sup < 0.0) return VAZIO;
+        double lo = inf <= 0.0 ? 0.0 : Math.max(0.0, baixo(Math.sqrt(inf)));
+        return criar(lo, cima(Math.sqrt(sup)));
+    }
+
+    public Intervalo sin() {
+        // sin(x) = cos(x - pi/2); a folga de extremoEm cobre o erro de pi/2
+        return deslocar(-0.5 * Math.PI).cosSemDeslocar(inf, sup, true);
+    }
+
+    public Intervalo cos() {
+        return cosSemDeslocar(inf, sup, false);
+    }
+
+    private Intervalo deslocar(double d) {
+        if (vazio()) return VAZIO;
+        return criar(baixo(inf + d), cima(sup + d));
+    }
+
+    /**
+     * Faixa de cos em [a, b] (this ja deslocado); os limites dos extremos
+     * vem do teste em [a, b], os valores nas pontas de orig (sin ou cos).
+     */
+    private Intervalo cosSemDeslocar(double origInf, double origSup, boolean seno) {
+        if (vazio()) return VAZIO;
+        if (!(largura() < DOIS_PI) || Math.max(Math.abs(inf), Math.abs(sup)) > 1e15) {
+            return de(-1.0, 1.0);
+        }
+        // maximos de cos em 2k*pi, minimos em (2k+1)*pi
+        boolean temMax = extremoEm(inf, sup, 0.0);
+        boolean temMin = extremoEm(inf, sup, Math.PI);
+        double va = seno ? Math.sin(origInf) : Math.cos(origInf);
+        double vb = seno ? Math.sin(origSup) : Math.cos(origSup);
+        double lo = temMin ? -1.0 : Math.max(-1.0, baixo2(Math.min(va, vb)));
+        double hi = temMax ? 1.0 : Math.min(1.0, cima2(Math.max(va, vb)));
+        return criar(lo, hi);
+    }
+
+    // true se [a, b] (com uma pequena folga) contem algum ponto fase + 2k*pi
+    private static boolean extremoEm(double a, double b, double fase) {
+        double folga = 1e-12 * (1.0 + Math.max(Math.abs(a), Math.abs(b)));
+        double k = Math.ceil((a - folga - fase) / DOIS_PI);
+        return fase + k * DOIS_PI <= b + folga;
+    }
+
+    public Intervalo tan() {
+        if (vazio()) return VAZIO;
+        if (!(largura() < Math.PI)) return INTEIRO;
+        // polos em pi/2 + k*pi
+        double folga = 1e-12 * (1.0 + Math.max(Math.abs(inf), Math.abs(sup)));
+        double k = Math.ceil((inf - folga - 0.5 * Math.PI) / Math.PI);
+        if (0.5 * Math.PI + k * Math.PI <= sup + folga) return INTEIRO;
+        return criar(baixo2(Math.tan(inf)), cima2(Math.tan(sup)));
+    }
+
+    public Intervalo abs() {
+        if (vazio()) return VAZIO;
+        if (contemZero()) return new Intervalo(0.0, Math.max(-inf, sup));
+        return inf > 0 ? this : neg();
+    }
+
+    public Intervalo sign() {
+        if (vazio()) return VAZIO;
+        return new Intervalo(Math.signum(inf), Math.signum(sup));
+    }
+
+    public Intervalo floor() {
+        if (vazio()) return VAZIO;
+        return new Intervalo(Math.floor(inf), Math.floor(sup));
+    }
+
+    public Intervalo ceil() {
+        if (vazio()) return VAZIO;
+        return new Intervalo(Math.ceil(inf), Math.ceil(sup));
+    }
+
+    @Override
+    public String toString() {
+        return vazio() ? "[]" : "[" + inf + ", " + sup + "]";
+    }
+}
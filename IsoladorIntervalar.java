@@ -0,0 +1,235 @@
+package backend;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.function.DoubleUnaryOperator;
+
+/**
+ * Isolamento de raizes por aritmetica intervalar (branch-and-prune).
+ *
+ * O dominio e dividido ao meio recursivamente. Em cada caixa X:
+ *  - se a faixa de f em X (Intervalo) nao contem 0, X e descartada: f nao
+ *    tem raiz ali, e nenhum ponto de X precisa ser avaliado;
+ *  - se a faixa de f' em X nao contem 0, f e monotona em X e tem no maximo
+ *    uma raiz, decidida pelos sinais nas pontas (caixa isolada);
+ *  - senao X e dividida, ate a largura minima (caixa duvidosa: raiz
+ *    multipla, raizes muito proximas ou um polo).
+ * So as caixas que sobram vao para o refinamento (NewtonBisseccao), o que
+ * acha raizes de multiplicidade par e raizes mais proximas que o passo da
+ * varredura de escanearIntervalo, com poucas avaliacoes em dominios largos.
+ *
+ * A faixa de f usa a forma natural intersectada com a forma do valor medio
+ * f(m) + f'(X) (X - m), bem mais justa em caixas pequenas. Se f tem saltos
+ * (sign, floor, ceil), f' nao diz nada sobre eles: o teste de monotonia e a
+ * forma do valor medio ficam desligados e so a forma natural e usada.
+ */
+public class IsoladorIntervalar {
+
+    // Limite de caixas examinadas por busca (funcoes muito oscilantes)
+    public static final int MAX_CAIXAS = 200_000;
+
+    private final BisseccaoSwing.Expr f, df;
+    private final DoubleUnaryOperator fCompilada, dfCompilada;
+    private final boolean continua;
+    private int caixas, avaliacoesIntervalares, avaliacoes;
+    private boolean limiteAtingido;
+
+    IsoladorIntervalar(BisseccaoSwing.Expr f) {
+        this.f = f;
+        this.df = f.derivada();
+        this.fCompilada = f.compilar();
+        this.dfCompilada = df.compilar();
+        this.continua = !temSalto(f);
+    }
+
+    // true se a expressao usa sign, floor ou ceil (f' nao enxerga os saltos)
+    static boolean temSalto(BisseccaoSwing.Expr f) {
+        return temSalto(f.getArvore(), Collections.newSetFromMap(new IdentityHashMap<>()));
+    }
+
+    private static boolean temSalto(NoExpr no, Set<NoExpr> vistos) {
+        if (!vistos.add(no)) return false;
+        if (no instanceof NoExpr.Func) {
+            NoExpr.Func fn = (NoExpr.Func) no;
+            if (fn.f == NoExpr.Funcao.SIGN || fn.f == NoExpr.Funcao.FLOOR || fn.f == NoExpr.Funcao.CEIL) return true;
+            return temSalto(fn.a, vistos);
+        }
+        if (no instanceof NoExpr.Neg) return temSalto(((NoExpr.Neg) no).a, vistos);
+        if (no instanceof NoExpr.PotInt) return temSalto(((NoExpr.PotInt) no).a, vistos);
+        if (no instanceof NoExpr.Bin) {
+            return temSalto(((NoExpr.Bin) no).a, vistos) || temSalto(((NoExpr.Bin) no).b, vistos);
+        }
+        return false;
+    }
+
+    // Caixa que sobreviveu ao corte
+    static final class Caixa {
+        final Intervalo x;
+        final boolean monotona; // f' sem zero em x: no maximo uma raiz
+
+        Caixa(Intervalo x, boolean monotona) {
+            this.x = x;
+            this.monotona = monotona;
+        }
+    }
+
+    /**
+     * Caixas candidatas em [a, b], em ordem crescente. Caixas duvidosas
+     * vizinhas sao unidas numa so.
+     * @param largMin largura abaixo da qual uma caixa nao e mais dividida
+     */
+    List<Caixa> isolar(double a, double b, double largMin) {
+        caixas = 0;
+        avaliacoesIntervalares = 0;
+        limiteAtingido = false;
+        List<Caixa> candidatas = new ArrayList<>();
+        ArrayDeque<Intervalo> pilha = new ArrayDeque<>();
+        pilha.push(Intervalo.de(a, b));
+        while (!pilha.isEmpty()) {
+            Intervalo x = pilha.pop();
+            caixas++;
+            if (caixas > MAX_CAIXAS) {
+                // sem orcamento: o que falta vira candidata sem garantia
+                limiteAtingido = true;
+                adicionar(candidatas, x, false);
+                continue;
+            }
+            Intervalo dx = continua ? df.evalIntervalo(x) : Intervalo.INTEIRO;
+            Intervalo fx = faixa(x, dx);
+            if (!fx.contemZero()) continue;
+
+            boolean monotona = continua && !dx.vazio() && !dx.contemZero();
+            if (monotona) {
+                adicionar(candidatas, x, true);
+                continue;
+            }
+            double m = x.meio();
+            if (x.largura() <= largMin || !(m > x.inf && m < x.sup)) {
+                adicionar(candidatas, x, false);
+                continue;
+            }
+            // direita primeiro: a esquerda sai antes da pilha (ordem crescente)
+            pilha.push(Intervalo.de(m, x.sup));
+            pilha.push(Intervalo.de(x.inf, m));
+        }
+        return candidatas;
+    }
+
+    // Forma natural intersectada com a forma do valor medio
+    private Intervalo faixa(Intervalo x, Intervalo dx) {
+        Intervalo natural = f.evalIntervalo(x);
+        avaliacoesIntervalares += continua ? 2 : 1; // f e f'
+        if (!continua || natural.vazio() || dx.vazio() || Double.isInfinite(x.largura())) return natural;
+        double m = x.meio();
+        Intervalo pm = Intervalo.ponto(m);
+        Intervalo valorMedio = f.evalIntervalo(pm).soma(dx.mul(x.sub(pm)));
+        avaliacoesIntervalares++;
+        Intervalo r = natural.intersecao(valorMedio);
+        return r.vazio() ? natural : r;
+    }
+
+    private static void adicionar(List<Caixa> candidatas, Intervalo x, boolean monotona) {
+        if (!monotona && !candidatas.isEmpty()) {
+            Caixa ultima = candidatas.get(candidatas.size() - 1);
+            if (!ultima.monotona && ultima.x.sup == x.inf) {
+                candidatas.set(candidatas.size() - 1, new Caixa(Intervalo.de(ultima.x.inf, x.sup), false));
+                return;
+            }
+        }
+        candidatas.add(new Caixa(x, monotona));
+    }
+
+    /**
+     * Todas as raizes de f em [a, b], em ordem crescente: isola as caixas e
+     * refina cada uma com NewtonBisseccao.
+     * Em caixa duvidosa sem troca de sinal procura um extremo (raiz de f')
+     * com |f| <= tol, o caso das raizes de multiplicidade par.
+     */
+    List<ResultadoRaiz> raizes(double a, double b, double tol, int iterMax) {
+        avaliacoes = 0;
+        List<ResultadoRaiz> raizes = new ArrayList<>();
+        double largMin = Math.max(tol, 1e-12 * Math.max(Math.abs(a), Math.abs(b)));
+        // f = 0 numa ponta e extremos tocando o zero vem com a caixa inteira como
+        // intervalo: caixas vizinhas que acham a mesma raiz tem intervalos que se tocam
+        List<ResultadoRaiz> grupo = new ArrayList<>();
+        double fimGrupo = Double.NEGATIVE_INFINITY;
+        for (Caixa c : isolar(a, b, largMin)) {
+            ResultadoRaiz r = refinar(c, tol, iterMax);
+            if (r == null) continue;
+            if (!grupo.isEmpty() && r.a > fimGrupo) {
+                raizes.add(ResultadoRaiz.menorResiduo(grupo));
+                grupo.clear();
+            }
+            grupo.add(r);
+            fimGrupo = Math.max(fimGrupo, r.b);
+        }
+        if (!grupo.isEmpty()) raizes.add(ResultadoRaiz.menorResiduo(grupo));
+        return raizes;
+    }
+
+    private ResultadoRaiz refinar(Caixa c, double tol, int iterMax) {
+        double xa = c.x.inf, xb = c.x.sup;
+        double fa = f.eval(xa), fb = f.eval(xb);
+        avaliacoes += 2;
+        if (fa == 0.0) return new ResultadoRaiz(xa, fa, xa, xb, 0, 2, true);
+        if (fb == 0.0) return new ResultadoRaiz(xb, fb, xa, xb, 0, 2, true);
+
+        if (fa * fb < 0) {
+            ResultadoRaiz r = NewtonBisseccao.refinar(fCompilada, dfCompilada, xa, xb, fa, fb, tol, iterMax);
+            avaliacoes += r.avaliacoes;
+            if (!r.convergiu) return null;
+            // troca de sinal num polo (1/x em 0) ou num salto (floor): so aceita se |f| pequeno
+            boolean podeSerDescontinua = !continua || Double.isInfinite(f.evalIntervalo(c.x).largura());
+            if (!c.monotona && podeSerDescontinua && !(Math.abs(r.fx) <= tol)) {
+                return null;
+            }
+            return r;
+        }
+        if (c.monotona) return null;
+
+        // Sem troca de sinal: raiz de multiplicidade par e extremo de f com f = 0
+        if (!continua) return null;
+        double da = dfCompilada.applyAsDouble(xa), db = dfCompilada.applyAsDouble(xb);
+        avaliacoes += 2;
+        double xm;
+        int aval = 5;
+        if (da * db < 0) {
+            // f'' so e gerada quando ha caixa duvidosa
+            DoubleUnaryOperator d2f = df.derivada().compilar();
+            ResultadoRaiz e = NewtonBisseccao.refinar(dfCompilada, d2f, xa, xb, da, db, tol, iterMax);
+            avaliacoes += e.avaliacoes;
+            aval += e.avaliacoes;
+            xm = e.raiz;
+        } else {
+            xm = c.x.meio();
+        }
+        double fm = f.eval(xm);
+        avaliacoes++;
+        if (!(Math.abs(fm) <= tol)) return null;
+        return new ResultadoRaiz(xm, fm, xa, xb, 1, aval, true);
+    }
+
+    // Caixas examinadas na ultima busca
+    public int getCaixas() {
+        return caixas;
+    }
+
+    // Avaliacoes intervalares de f e f'
+    public int getAvaliacoesIntervalares() {
+        return avaliacoesIntervalares;
+    }
+
+    // Avaliacoes pontuais de f e f' no refinamento
+    public int getAvaliacoes() {
+        return avaliacoes;
+    }
+
+    // true se MAX_CAIXAS foi atingido (o resultado pode estar incompleto)
+    public boolean isLimiteAtingido() {
+        return limiteAtingido;
+    }
+}
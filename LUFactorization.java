@@ -0,0 +1,188 @@
+package backend;
+
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Fatoracao LU com pivotamento parcial reutilizavel: PA = LU.
+ * A matriz e fatorada uma unica vez (O(n^3)); cada novo lado direito custa
+ * apenas as substituicoes progressiva e retroativa (O(n^2)).
+ *
+ * Armazenamento compacto num unico vetor plano por linhas:
+ * - L abaixo da diagonal (diagonal unitaria implicita)
+ * - U na diagonal e acima
+ * - P no vetor perm: perm[k] e a linha original que ocupa a posicao k
+ */
+public class LUFactorization {
+    private final int n;
+    private final double[] lu;
+    private final int[] perm;
+    private final int trocas;
+
+    LUFactorization(int n, double[] lu, int[] perm, int trocas) {
+        this.n = n;
+        this.lu = lu;
+        this.perm = perm;
+        this.trocas = trocas;
+    }
+
+    /**
+     * Fatora A pela LU blocada sequencial.
+     * @param A matriz n x n (sera COPIADA)
+     */
+    public static LUFactorization fatorar(double[][] A) {
+        int n = validar(A);
+        double[] lu = GaussEliminacao.paraVetorPlano(A);
+        int[] perm = new int[n];
+        int trocas = GaussEliminacao.fatorarLUBlocado(lu, n, perm, GaussEliminacao.TAMANHO_BLOCO_PADRAO);
+        return new LUFactorization(n, lu, perm, trocas);
+    }
+
+    /**
+     * Fatora A pela LU paralela (fork/join).
+     * @param pool pool a usar; null usa ForkJoinPool.commonPool()
+     * @param limiarParalelo ordem minima para paralelizar
+     */
+    public static LUFactorization fatorar(double[][] A, ForkJoinPool pool, int limiarParalelo) {
+        int n = validar(A);
+        double[] lu = GaussEliminacao.paraVetorPlano(A);
+        int[] perm = new int[n];
+        int trocas = GaussEliminacao.fatorarLUParalelo(lu, n, perm, GaussEliminacao.TAMANHO_BLOCO_PADRAO,
+                pool, limiarParalelo);
+        return new LUFactorization(n, lu, perm, trocas);
+    }
+
+    private static int validar(double[][] A) {
+        int n = A.length;
+        if (n == 0 || A[0].length != n) {
+            throw new IllegalArgumentException("A matriz deve ser quadrada!");
+        }
+        return n;
+    }
+
+    public int ordem() {
+        return n;
+    }
+
+    /**
+     * Resolve Ax=b reaproveitando os fatores.
+     * @param b vetor de termos independentes (nao e alterado)
+     * @return vetor solucao x
+     */
+    public double[] solve(double[] b) {
+        if (b.length != n) {
+            throw new IllegalArgumentException("Dimensoes invalidas: b deve ter tamanho " + n + ".");
+        }
+        return GaussEliminacao.substituir(lu, n, perm, b);
+    }
+
+    /**
+     * Resolve AX=B para varios lados direitos de uma vez.
+     * As substituicoes percorrem B por linhas, atualizando todas as colunas
+     * juntas, o que acessa memoria contigua em vez de resolver coluna a coluna.
+     * @param B matriz n x m; cada coluna e um lado direito (nao e alterada)
+     * @return matriz X n x m com as solucoes nas colunas
+     */
+    public double[][] solve(double[][] B) {
+        if (B.length != n) {
+            throw new IllegalArgumentException("Dimensoes invalidas: B deve ter " + n + " linhas.");
+        }
+        int m = B[0].length;
+        double[][] X = new double[n][];
+        // Aplica a permutacao: Y = P B
+        for (int i = 0; i < n; i++) {
+            if (B[perm[i]].length != m) {
+                throw new IllegalArgumentException("Dimensoes invalidas: linhas de B com tamanhos diferentes.");
+            }
+            X[i] = B[perm[i]].clone();
+        }
+        // LY = PB
+        for (int i = 1; i < n; i++) {
+            int linhaI = i * n;
+            double[] xi = X[i];
+            for (int j = 0; j < i; j++) {
+                double Lij = lu[linhaI + j];
+                if (Lij == 0.0) continue;
+                double[] xj = X[j];
+                for (int c = 0; c < m; c++) {
+                    xi[c] -= Lij * xj[c];
+                }
+            }
+        }
+        // UX = Y
+        for (int i = n - 1; i >= 0; i--) {
+            int linhaI = i * n;
+            double[] xi = X[i];
+            for (int j = i + 1; j < n; j++) {
+                double Uij = lu[linhaI + j];
+                if (Uij == 0.0) continue;
+                double[] xj = X[j];
+                for (int c = 0; c < m; c++) {
+                    xi[c] -= Uij * xj[c];
+                }
+            }
+            double diag = lu[linhaI + i];
+            if (Math.abs(diag) < 1e-15) {
+                throw new ArithmeticException("Sistema singular na retrosubstituicao (diagonal ~ 0).");
+            }
+            for (int c = 0; c < m; c++) {
+                xi[c] /= diag;
+            }
+        }
+        return X;
+    }
+
+    /**
+     * det(A) = (-1)^trocas * produto da diagonal de U.
+     */
+    public double determinant() {
+        double det = (trocas % 2 == 0) ? 1.0 : -1.0;
+        for (int i = 0; i < n; i++) {
+            det *= lu[i * n + i];
+        }
+        return det;
+    }
+
+    /**
+     * Inversa de A, obtida resolvendo AX = I com os fatores ja calculados.
+     */
+    public double[][] inverse() {
+        double[][] I = new double[n][n];
+        for (int i = 0; i < n; i++) {
+            I[i][i] = 1.0;
+        }
+        return solve(I);
+    }
+
+    // Matriz L densa (diagonal unitaria)
+    public double[][] getL() {
+        double[][] L = new double[n][n];
+        for (int i = 0; i < n; i++) {
+            System.arraycopy(lu, i * n, L[i], 0, i);
+            L[i][i] = 1.0;
+        }
+        return L;
+    }
+
+    // Matriz U densa
+    public double[][] getU() {
+        double[][] U = new double[n][n];
+        for (int i = 0; i < n; i++) {
+            System.arraycopy(lu, i * n + i, U[i], i, n - i);
+        }
+        return U;
+    }
+
+    // Matriz de permutacao P densa (PA = LU)
+    public double[][] getP() {
+        double[][] P = new double[n][n];
+        for (int i = 0; i < n; i++) {
+            P[i][perm[i]] = 1.0;
+        }
+        return P;
+    }
+
+    // Copia do vetor de permutacoes das linhas
+    public int[] getPermutacao() {
+        return perm.clone();
+    }
+}
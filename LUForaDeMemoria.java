@@ -0,0 +1,304 @@
+package backend;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+/**
+ * Fatoracao LU com pivotamento parcial fora da memoria (out-of-core), para
+ * matrizes maiores que o heap.
+ *
+ * A matriz fica num arquivo dividido em paineis de T colunas (T = tamanho do
+ * ladrilho); cada painel e guardado por linhas e de forma contigua, entao
+ * qualquer faixa de linhas de um painel e uma unica regiao mapeada
+ * (FileChannel.map). A fatoracao percorre os paineis da esquerda para a
+ * direita mantendo no heap no maximo dois paineis:
+ * 1) painel K: LU com pivotamento parcial (coluna a coluna)
+ * 2) cada painel J > K: aplica as trocas de K, U12 <- L11^-1 A12 e
+ *    A22 <- A22 - L21 U12, e grava de volta
+ *
+ * Como no LAPACK, as trocas de um painel nao sao aplicadas aos paineis a
+ * esquerda: o solve aplica cada troca na mesma ordem da fatoracao. Os fatores
+ * L e U ficam no proprio arquivo; o vetor de pivos fica na memoria.
+ *
+ * Memoria de trabalho: 2 * nPad * T * 8 bytes (nPad = n arredondado para
+ * multiplo de T), independente do total n^2.
+ *
+ * Cada painel e mapeado uma unica vez (na ordem de bytes nativa, sem troca
+ * de bytes a cada get/put) e a mesma regiao e reaproveitada ate close().
+ * Todo painel gravado e descarregado no disco (force) logo em seguida, entao
+ * ha no maximo um painel de paginas sujas (nPad * T * 8 bytes) por vez. As
+ * demais paginas mapeadas ficam limpas: contam como cache de arquivo do
+ * sistema, que as descarta quando falta memoria. O espaco de enderecamento
+ * reservado chega ao tamanho do arquivo (nPad^2 * 8 bytes), mas a memoria
+ * residente que a fatoracao exige e so a de trabalho mais um painel sujo.
+ */
+public class LUForaDeMemoria implements AutoCloseable {
+
+    // Fornece A[i][j] ao preencher o arquivo painel a painel
+    public interface FonteElementos {
+        double valor(int i, int j);
+    }
+
+    private final int n, tile, numPaineis, nPad;
+    private final RandomAccessFile arquivo;
+    private final FileChannel canal;
+    private final int[] pivo;
+    private DoubleBuffer[] paineis; // regiao mapeada de cada painel, criada no primeiro acesso
+    private final MappedByteBuffer[] regioes;
+    private boolean fatorada;
+
+    private LUForaDeMemoria(Path caminho, int n, int tile) throws IOException {
+        this.n = n;
+        this.tile = tile;
+        this.numPaineis = (n + tile - 1) / tile;
+        this.nPad = numPaineis * tile;
+        if ((long) nPad * tile * Double.BYTES > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Painel excede 2 GB: reduza o tamanho do ladrilho.");
+        }
+        this.arquivo = new RandomAccessFile(caminho.toFile(), "rw");
+        this.canal = arquivo.getChannel();
+        this.pivo = new int[nPad];
+        this.paineis = new DoubleBuffer[numPaineis];
+        this.regioes = new MappedByteBuffer[numPaineis];
+        arquivo.setLength((long) nPad * nPad * Double.BYTES);
+    }
+
+    /**
+     * Cria (ou sobrescreve) o arquivo de trabalho.
+     * @param caminho arquivo onde a matriz e os fatores ficarao
+     * @param n ordem da matriz
+     * @param tamanhoTile colunas por painel (ex.: 256)
+     */
+    public static LUForaDeMemoria criar(Path caminho, int n, int tamanhoTile) throws IOException {
+        if (n <= 0 || tamanhoTile <= 0) {
+            throw new IllegalArgumentException("n e tamanho do ladrilho devem ser > 0.");
+        }
+        return new LUForaDeMemoria(caminho, n, Math.min(tamanhoTile, n));
+    }
+
+    // Bytes de heap usados pelos dois paineis de trabalho
+    public long bytesMemoriaTrabalho() {
+        return 2L * nPad * tile * Double.BYTES;
+    }
+
+    /**
+     * Grava a matriz no arquivo painel a painel. As posicoes de preenchimento
+     * (indices >= n) recebem a identidade, sem alterar a solucao.
+     */
+    public void preencher(FonteElementos fonte) throws IOException {
+        double[] painel = new double[nPad * tile];
+        for (int J = 0; J < numPaineis; J++) {
+            int c0 = J * tile;
+            for (int i = 0; i < nPad; i++) {
+                int base = i * tile;
+                for (int c = 0; c < tile; c++) {
+                    int j = c0 + c;
+                    if (i < n && j < n) {
+                        painel[base + c] = fonte.valor(i, j);
+                    } else {
+                        painel[base + c] = (i == j) ? 1.0 : 0.0;
+                    }
+                }
+            }
+            gravarPainel(J, 0, nPad, painel);
+        }
+        fatorada = false;
+    }
+
+    // Conveniencia para matrizes que cabem na memoria (testes, exemplos)
+    public void carregar(double[][] A) throws IOException {
+        if (A.length != n || A[0].length != n) {
+            throw new IllegalArgumentException("Dimensoes invalidas: A deve ser " + n + " x " + n + ".");
+        }
+        preencher((i, j) -> A[i][j]);
+    }
+
+    /**
+     * Fatora PA = LU no proprio arquivo.
+     */
+    public void fatorar() throws IOException {
+        double[] P = new double[nPad * tile];
+        double[] Q = new double[nPad * tile];
+        for (int K = 0; K < numPaineis; K++) {
+            int r0 = K * tile;
+            int linhas = nPad - r0;
+            carregarPainel(K, r0, nPad, P);
+            fatorarPainel(P, linhas, r0);
+            gravarPainel(K, r0, nPad, P);
+
+            for (int J = K + 1; J < numPaineis; J++) {
+                carregarPainel(J, r0, nPad, Q);
+                atualizarPainel(P, Q, linhas, r0);
+                gravarPainel(J, r0, nPad, Q);
+            }
+        }
+        fatorada = true;
+    }
+
+    // LU do painel (linhas r0..nPad-1, T colunas) com pivotamento parcial
+    private void fatorarPainel(double[] P, int linhas, int r0) {
+        int T = tile;
+        for (int k = 0; k < T; k++) {
+            int pr = k;
+            double maxAbs = Math.abs(P[k * T + k]);
+            for (int i = k + 1; i < linhas; i++) {
+                double val = Math.abs(P[i * T + k]);
+                if (val > maxAbs) {
+                    maxAbs = val;
+                    pr = i;
+                }
+            }
+            pivo[r0 + k] = r0 + pr;
+            if (pr != k) {
+                trocarLinhas(P, T, k, pr);
+            }
+            double pivotValue = P[k * T + k];
+            if (Math.abs(pivotValue) < 1e-15) {
+                throw new ArithmeticException("Sistema singular ou pivo numericamente nulo na etapa k=" + (r0 + k));
+            }
+            for (int i = k + 1; i < linhas; i++) {
+                int linhaI = i * T;
+                double Lik = P[linhaI + k] / pivotValue;
+                P[linhaI + k] = Lik;
+                if (Lik == 0.0) continue;
+                for (int j = k + 1; j < T; j++) {
+                    P[linhaI + j] -= Lik * P[k * T + j];
+                }
+            }
+        }
+    }
+
+    // Aplica ao painel Q (mesmas linhas de P) as trocas, a resolucao de U12 e a atualizacao de A22
+    private void atualizarPainel(double[] P, double[] Q, int linhas, int r0) {
+        int T = tile;
+        for (int k = 0; k < T; k++) {
+            int pr = pivo[r0 + k] - r0;
+            if (pr != k) trocarLinhas(Q, T, k, pr);
+        }
+        // U12 <- L11^-1 * A12
+        for (int k = 0; k < T; k++) {
+            for (int i = k + 1; i < T; i++) {
+                double Lik = P[i * T + k];
+                if (Lik == 0.0) continue;
+                for (int j = 0; j < T; j++) {
+                    Q[i * T + j] -= Lik * Q[k * T + j];
+                }
+            }
+        }
+        // A22 <- A22 - L21 * U12
+        for (int i = T; i < linhas; i++) {
+            int linhaI = i * T;
+            for (int k = 0; k < T; k++) {
+                double Lik = P[linhaI + k];
+                if (Lik == 0.0) continue;
+                int linhaK = k * T;
+                for (int j = 0; j < T; j++) {
+                    Q[linhaI + j] -= Lik * Q[linhaK + j];
+                }
+            }
+        }
+    }
+
+    /**
+     * Resolve Ax=b lendo os fatores do arquivo (uma passada para L, outra para U).
+     */
+    public double[] solve(double[] b) throws IOException {
+        if (!fatorada) {
+            throw new IllegalStateException("Chame fatorar() antes de solve().");
+        }
+        if (b.length != n) {
+            throw new IllegalArgumentException("Dimensoes invalidas: b deve ter tamanho " + n + ".");
+        }
+        int T = tile;
+        double[] y = new double[nPad];
+        System.arraycopy(b, 0, y, 0, n);
+        double[] P = new double[nPad * T];
+
+        // Ly = Pb, painel a painel, com as trocas na ordem da fatoracao
+        for (int K = 0; K < numPaineis; K++) {
+            int r0 = K * T;
+            carregarPainel(K, r0, nPad, P);
+            for (int k = 0; k < T; k++) {
+                int c = r0 + k;
+                int p = pivo[c];
+                if (p != c) {
+                    double t = y[c]; y[c] = y[p]; y[p] = t;
+                }
+            }
+            for (int k = 0; k < T; k++) {
+                double yc = y[r0 + k];
+                if (yc == 0.0) continue;
+                for (int i = k + 1; i < nPad - r0; i++) {
+                    y[r0 + i] -= P[i * T + k] * yc;
+                }
+            }
+        }
+
+        // Ux = y, painel a painel da direita para a esquerda (orientado a colunas)
+        for (int J = numPaineis - 1; J >= 0; J--) {
+            int c0 = J * T;
+            int linhas = c0 + T;
+            carregarPainel(J, 0, linhas, P);
+            for (int k = T - 1; k >= 0; k--) {
+                int c = c0 + k;
+                double xc = y[c] / P[c * T + k];
+                y[c] = xc;
+                if (xc == 0.0) continue;
+                for (int i = 0; i < c; i++) {
+                    y[i] -= P[i * T + k] * xc;
+                }
+            }
+        }
+        double[] x = new double[n];
+        System.arraycopy(y, 0, x, 0, n);
+        return x;
+    }
+
+    private static void trocarLinhas(double[] M, int T, int r1, int r2) {
+        int o1 = r1 * T, o2 = r2 * T;
+        for (int j = 0; j < T; j++) {
+            double t = M[o1 + j]; M[o1 + j] = M[o2 + j]; M[o2 + j] = t;
+        }
+    }
+
+    // Vista das linhas [r0, ...) do painel J; o painel inteiro e mapeado uma vez so
+    private DoubleBuffer mapear(int J, int r0) throws IOException {
+        if (paineis == null) {
+            throw new IllegalStateException("Arquivo de trabalho ja fechado.");
+        }
+        if (paineis[J] == null) {
+            long inicio = (long) J * nPad * tile * Double.BYTES;
+            long tamanho = (long) nPad * tile * Double.BYTES;
+            regioes[J] = canal.map(FileChannel.MapMode.READ_WRITE, inicio, tamanho);
+            paineis[J] = regioes[J].order(ByteOrder.nativeOrder()).asDoubleBuffer();
+        }
+        DoubleBuffer vista = paineis[J].duplicate();
+        vista.position(r0 * tile);
+        return vista;
+    }
+
+    private void carregarPainel(int J, int r0, int r1, double[] destino) throws IOException {
+        mapear(J, r0).get(destino, 0, (r1 - r0) * tile);
+    }
+
+    // Grava e descarrega no disco: as paginas sujas nao se acumulam entre paineis
+    private void gravarPainel(int J, int r0, int r1, double[] origem) throws IOException {
+        mapear(J, r0).put(origem, 0, (r1 - r0) * tile);
+        regioes[J].force();
+    }
+
+    // Solta as regioes mapeadas (liberadas pelo coletor) e fecha o arquivo
+    @Override
+    public void close() throws IOException {
+        paineis = null;
+        Arrays.fill(regioes, null);
+        canal.close();
+        arquivo.close();
+    }
+}
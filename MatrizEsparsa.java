@@ -0,0 +1,209 @@
+package backend;
+
+import java.util.Arrays;
+
+/**
+ * Matriz esparsa quadrada em formato CSR (linhas comprimidas).
+ * Para a linha i, as colunas e valores nao nulos ficam em
+ * colunas[ptrLinha[i] .. ptrLinha[i+1]-1] e valores[...], com as colunas
+ * em ordem crescente e sem repeticao.
+ *
+ * Pode ser montada diretamente em CSR ou a partir de triplas COO
+ * (linha, coluna, valor), caso em que entradas repetidas sao somadas.
+ */
+public class MatrizEsparsa {
+    final int n;
+    final int[] ptrLinha;
+    final int[] colunas;
+    final double[] valores;
+
+    /**
+     * Monta a matriz a partir de vetores CSR (nao sao copiados).
+     * @param n ordem da matriz
+     * @param ptrLinha inicio de cada linha (tamanho n+1)
+     * @param colunas indice de coluna de cada nao nulo
+     * @param valores valor de cada nao nulo
+     */
+    public MatrizEsparsa(int n, int[] ptrLinha, int[] colunas, double[] valores) {
+        if (n <= 0 || ptrLinha.length != n + 1 || ptrLinha[0] != 0) {
+            throw new IllegalArgumentException("Dimensoes invalidas: ptrLinha deve ter n+1 posicoes e comecar em 0.");
+        }
+        int nnz = ptrLinha[n];
+        if (colunas.length < nnz || valores.length < nnz) {
+            throw new IllegalArgumentException("Dimensoes invalidas: colunas e valores devem ter ptrLinha[n] posicoes.");
+        }
+        for (int i = 0; i < n; i++) {
+            if (ptrLinha[i] > ptrLinha[i + 1]) {
+                throw new IllegalArgumentException("ptrLinha deve ser nao decrescente (linha " + i + ").");
+            }
+            for (int p = ptrLinha[i]; p < ptrLinha[i + 1]; p++) {
+                int j = colunas[p];
+                if (j < 0 || j >= n || (p > ptrLinha[i] && colunas[p - 1] >= j)) {
+                    throw new IllegalArgumentException("Colunas fora do intervalo ou fora de ordem na linha " + i + ".");
+                }
+            }
+        }
+        this.n = n;
+        this.ptrLinha = ptrLinha;
+        this.colunas = colunas;
+        this.valores = valores;
+    }
+
+    /**
+     * Monta a matriz a partir de triplas COO; repeticoes da mesma posicao sao somadas.
+     * @param n ordem da matriz
+     * @param linhas indice de linha de cada tripla
+     * @param colunas indice de coluna de cada tripla
+     * @param valores valor de cada tripla
+     */
+    public static MatrizEsparsa deCOO(int n, int[] linhas, int[] colunas, double[] valores) {
+        int nnz = linhas.length;
+        if (n <= 0 || colunas.length != nnz || valores.length != nnz) {
+            throw new IllegalArgumentException("Dimensoes invalidas: linhas, colunas e valores devem ter o mesmo tamanho.");
+        }
+        // Contagem por linha
+        int[] ptr = new int[n + 1];
+        for (int p = 0; p < nnz; p++) {
+            int i = linhas[p], j = colunas[p];
+            if (i < 0 || i >= n || j < 0 || j >= n) {
+                throw new IllegalArgumentException("Tripla fora da matriz: (" + i + ", " + j + ").");
+            }
+            ptr[i + 1]++;
+        }
+        for (int i = 0; i < n; i++) ptr[i + 1] += ptr[i];
+
+        // Distribui as triplas (colunas ainda fora de ordem)
+        int[] proximo = new int[n];
+        System.arraycopy(ptr, 0, proximo, 0, n);
+        int[] cols = new int[nnz];
+        double[] vals = new double[nnz];
+        for (int p = 0; p < nnz; p++) {
+            int q = proximo[linhas[p]]++;
+            cols[q] = colunas[p];
+            vals[q] = valores[p];
+        }
+
+        // Soma repeticoes dentro de cada linha, compactando no lugar
+        int[] posicao = new int[n];
+        Arrays.fill(posicao, -1);
+        int destino = 0;
+        for (int i = 0; i < n; i++) {
+            int inicioLinha = destino;
+            for (int p = ptr[i]; p < ptr[i + 1]; p++) {
+                int j = cols[p];
+                if (posicao[j] >= inicioLinha) {
+                    vals[posicao[j]] += vals[p];
+                } else {
+                    posicao[j] = destino;
+                    cols[destino] = j;
+                    vals[destino] = vals[p];
+                    destino++;
+                }
+            }
+            ptr[i] = inicioLinha;
+        }
+        ptr[n] = destino;
+
+        // Transpor duas vezes deixa as colunas de cada linha em ordem crescente
+        MatrizEsparsa semOrdem = new MatrizEsparsa(ptr, cols, vals);
+        return semOrdem.transposta().transposta();
+    }
+
+    /**
+     * Converte uma matriz densa, guardando apenas as entradas diferentes de zero.
+     */
+    public static MatrizEsparsa deDensa(double[][] A) {
+        int n = A.length;
+        if (n == 0 || A[0].length != n) {
+            throw new IllegalArgumentException("A matriz deve ser quadrada!");
+        }
+        int nnz = 0;
+        for (double[] linha : A) {
+            for (double v : linha) if (v != 0.0) nnz++;
+        }
+        int[] ptr = new int[n + 1];
+        int[] cols = new int[nnz];
+        double[] vals = new double[nnz];
+        int p = 0;
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < n; j++) {
+                if (A[i][j] != 0.0) {
+                    cols[p] = j;
+                    vals[p] = A[i][j];
+                    p++;
+                }
+            }
+            ptr[i + 1] = p;
+        }
+        return new MatrizEsparsa(ptr, cols, vals);
+    }
+
+    // Construtor interno sem validacao (estruturas montadas por esta classe)
+    private MatrizEsparsa(int[] ptrLinha, int[] colunas, double[] valores) {
+        this.n = ptrLinha.length - 1;
+        this.ptrLinha = ptrLinha;
+        this.colunas = colunas;
+        this.valores = valores;
+    }
+
+    public int ordem() {
+        return n;
+    }
+
+    public int naoNulos() {
+        return ptrLinha[n];
+    }
+
+    /**
+     * Produto y = A x.
+     */
+    public double[] multiplicar(double[] x) {
+        if (x.length != n) {
+            throw new IllegalArgumentException("Dimensoes invalidas: x deve ter tamanho " + n + ".");
+        }
+        double[] y = new double[n];
+        for (int i = 0; i < n; i++) {
+            double soma = 0.0;
+            for (int p = ptrLinha[i]; p < ptrLinha[i + 1]; p++) {
+                soma += valores[p] * x[colunas[p]];
+            }
+            y[i] = soma;
+        }
+        return y;
+    }
+
+    /**
+     * Transposta em CSR. As linhas da transposta sao as colunas de A,
+     * ou seja, o resultado tambem serve como A em formato CSC.
+     */
+    MatrizEsparsa transposta() {
+        int nnz = ptrLinha[n];
+        int[] ptr = new int[n + 1];
+        for (int p = 0; p < nnz; p++) ptr[colunas[p] + 1]++;
+        for (int i = 0; i < n; i++) ptr[i + 1] += ptr[i];
+        int[] proximo = new int[n];
+        System.arraycopy(ptr, 0, proximo, 0, n);
+        int[] cols = new int[nnz];
+        double[] vals = new double[nnz];
+        for (int i = 0; i < n; i++) {
+            for (int p = ptrLinha[i]; p < ptrLinha[i + 1]; p++) {
+                int q = proximo[colunas[p]]++;
+                cols[q] = i;
+                vals[q] = valores[p];
+            }
+        }
+        return new MatrizEsparsa(ptr, cols, vals);
+    }
+
+    // true se as duas matrizes tem exatamente as mesmas posicoes nao nulas
+    boolean mesmoPadrao(MatrizEsparsa outra) {
+        if (outra.n != n || outra.ptrLinha[n] != ptrLinha[n]) return false;
+        for (int i = 0; i <= n; i++) {
+            if (outra.ptrLinha[i] != ptrLinha[i]) return false;
+        }
+        for (int p = 0; p < ptrLinha[n]; p++) {
+            if (outra.colunas[p] != colunas[p]) return false;
+        }
+        return true;
+    }
+}
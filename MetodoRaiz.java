@@ -0,0 +1,49 @@
+package backend;
+
+import java.util.function.DoubleUnaryOperator;
+
+/**
+ * Metodo de refinamento de uma raiz dentro de um intervalo [a, b] com troca
+ * de sinal (metodos de confinamento: a raiz nunca sai do intervalo).
+ *
+ * Todos seguem o mesmo criterio de parada, para que iteracoes e avaliacoes
+ * sejam comparaveis: param quando |f(x)| <= tol ou quando a raiz esta
+ * garantidamente a menos de tol de x. f(a) e f(b) ja sao conhecidos e nao
+ * contam como avaliacoes.
+ *
+ * Implementacoes: Bisseccao, Illinois (regula falsi modificada), Brent, ITP
+ * e NewtonBisseccao (unico que usa f').
+ */
+public interface MetodoRaiz {
+
+    // Nome exibido nas interfaces
+    String nome();
+
+    /**
+     * Refina a raiz de f em [a, b], com f(a) e f(b) de sinais opostos.
+     * @param df derivada de f (ignorada pelos metodos que nao a usam)
+     * @throws IllegalArgumentException se f(a) e f(b) nao tem sinais opostos
+     */
+    ResultadoRaiz resolver(DoubleUnaryOperator f, DoubleUnaryOperator df,
+                           double a, double b, double fa, double fb, double tol, int iterMax);
+
+    // resolver com o tempo gasto anotado no resultado
+    default ResultadoRaiz resolverMedindo(DoubleUnaryOperator f, DoubleUnaryOperator df,
+                                          double a, double b, double fa, double fb, double tol, int iterMax) {
+        long inicio = System.nanoTime();
+        ResultadoRaiz r = resolver(f, df, a, b, fa, fb, tol, iterMax);
+        return r.comTempo(System.nanoTime() - inicio);
+    }
+
+    // Metodos oferecidos nas interfaces (o primeiro e o padrao)
+    static MetodoRaiz[] disponiveis() {
+        return new MetodoRaiz[] {new NewtonBisseccao(), new Brent(), new ITP(), new Illinois(), new Bisseccao()};
+    }
+
+    // Confere a troca de sinal exigida por resolver
+    static void exigirTroca(double fa, double fb) {
+        if (!(fa * fb < 0)) {
+            throw new IllegalArgumentException("f(a) e f(b) devem ter sinais opostos.");
+        }
+    }
+}
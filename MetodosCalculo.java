@@ -132,7 +132,7 @@ public class MetodosCalculo {
                         sb.append("\nMatriz de Permutação P:\n");
                         for (int i = 0; i < n; i++) {
                             for (int j = 0; j < n; j++) {
-                                sb.append(String.format("%8.3f", resultado.matrizP[i][j]));
+                                sb.append(String.format("%8.3f", resultado.getMatrizP()[i][j]));
                             }
                             sb.append("\n");
                         }
@@ -140,7 +140,7 @@ public class MetodosCalculo {
                         sb.append("\nDecomposição LU:\nMatriz L:\n");
                         for (int i = 0; i < n; i++) {
                             for (int j = 0; j < n; j++) {
-                                sb.append(String.format("%8.3f", resultado.matrizL[i][j]));
+                                sb.append(String.format("%8.3f", resultado.getMatrizL()[i][j]));
                             }
                             sb.append("\n");
                         }
@@ -148,7 +148,7 @@ public class MetodosCalculo {
                         sb.append("\nMatriz U:\n");
                         for (int i = 0; i < n; i++) {
                             for (int j = 0; j < n; j++) {
-                                sb.append(String.format("%8.3f", resultado.matrizU[i][j]));
+                                sb.append(String.format("%8.3f", resultado.getMatrizU()[i][j]));
                             }
                             sb.append("\n");
                         }
@@ -186,9 +186,14 @@ public class MetodosCalculo {
         JLabel tolLabel = new JLabel("Tolerância:");
         JTextField tolField = new JTextField("0.001");
         
+        JLabel metodoLabel = new JLabel("Método:");
+        JComboBox<MetodoRaiz> metodoBox = new JComboBox<>(MetodoRaiz.disponiveis());
+
         JButton calcButton = new JButton("Calcular");
         JTextArea resultArea = new JTextArea(10, 40);
         resultArea.setEditable(false);
+        JProgressBar progresso = new JProgressBar(0, 100);
+        progresso.setStringPainted(true);
 
         // Layout
         c.gridx = 0; c.gridy = 0; panel.add(funcLabel, c);
@@ -197,11 +202,22 @@ public class MetodosCalculo {
         c.gridx = 0; c.gridy = 1; c.weightx = 0; panel.add(tolLabel, c);
         c.gridx = 1; c.gridy = 1; c.weightx = 1; panel.add(tolField, c);
         
-        c.gridx = 0; c.gridy = 2; c.gridwidth = 2; panel.add(calcButton, c);
-        c.gridx = 0; c.gridy = 3; c.gridwidth = 2; panel.add(new JScrollPane(resultArea), c);
+        c.gridx = 0; c.gridy = 2; c.weightx = 0; panel.add(metodoLabel, c);
+        c.gridx = 1; c.gridy = 2; c.weightx = 1; panel.add(metodoBox, c);
+
+        c.gridx = 0; c.gridy = 3; c.gridwidth = 2; panel.add(calcButton, c);
+        c.gridx = 0; c.gridy = 4; c.gridwidth = 2; panel.add(progresso, c);
+        c.gridx = 0; c.gridy = 5; c.gridwidth = 2; panel.add(new JScrollPane(resultArea), c);
+
+        // Busca em andamento (ou a última); o botão cancela enquanto ela roda
+        BuscaRaizes[] busca = new BuscaRaizes[1];
 
-        // Ação do botão calcular
+        // Ação do botão calcular: busca em segundo plano (BuscaRaizes)
         calcButton.addActionListener(e -> {
+            if (busca[0] != null && !busca[0].isDone()) {
+                busca[0].cancelar();
+                return;
+            }
             try {
                 String func = funcField.getText().trim();
                 double tol = Double.parseDouble(tolField.getText().trim());
@@ -210,74 +226,60 @@ public class MetodosCalculo {
                     return;
                 }
 
-                BisseccaoSwing.Expr expr = new BisseccaoSwing.Expr(func);
-                double inicio = -100, fim = 100;
+                BisseccaoSwing.Expr expr = CacheExpr.global().obter(func);
                 int iterMax = 1000;
-                java.util.List<String> raizes = new java.util.ArrayList<>();
-                
-                // Passos de varredura
-                double[] passos = {1.0, 0.1};
-                for (double passo : passos) {
-                    double xPrev = inicio;
-                    double fPrev = expr.safeEval(xPrev);
-
-                    for (double x = inicio + passo; x <= fim + 1e-12; x += passo) {
-                        double f = expr.safeEval(x);
-
-                        if (Double.isNaN(fPrev) || Double.isInfinite(fPrev) ||
-                            Double.isNaN(f) || Double.isInfinite(f)) {
-                            xPrev = x;
-                            fPrev = f;
-                            continue;
-                        }
+                MetodoRaiz metodo = (MetodoRaiz) metodoBox.getSelectedItem();
 
-                        if (Math.abs(fPrev) < 1e-12) {
-                            raizes.add(String.format("Raiz exata: x = %.10f", xPrev));
-                        }
-                        if (Math.abs(f) < 1e-12) {
-                            raizes.add(String.format("Raiz exata: x = %.10f", x));
-                        }
+                // Polinômio: todas as raízes reais (Sturm); senão varredura adaptativa em [-100,100]
+                busca[0] = new BuscaRaizes(expr, metodo, tol, iterMax) {
+                    // Raízes na ordem em que são achadas; done mostra a lista final
+                    @Override
+                    protected void process(java.util.List<ResultadoRaiz> lote) {
+                        StringBuilder sb = new StringBuilder();
+                        for (ResultadoRaiz r : lote) sb.append(r).append("\n");
+                        resultArea.append(sb.toString());
+                    }
 
-                        if (fPrev * f < 0) {
-                            double a = xPrev, b = x;
-                            int iter = 0;
-                            double m = (a + b) / 2.0;
-
-                            while (iter < iterMax) {
-                                m = (a + b) / 2.0;
-                                double fm = expr.safeEval(m);
-                                
-                                if (Math.abs(fm) < tol) {
-                                    raizes.add(String.format("Raiz por bissecção: x = %.10f", m));
-                                    break;
-                                }
-                                
-                                if (fm * expr.safeEval(a) < 0) {
-                                    b = m;
-                                } else {
-                                    a = m;
-                                }
-                                
-                                if (Math.abs(b - a) < tol) {
-                                    raizes.add(String.format("Raiz por bissecção: x = %.10f", m));
-                                    break;
-                                }
-                                
-                                iter++;
+                    @Override
+                    protected void done() {
+                        calcButton.setText("Calcular");
+                        try {
+                            java.util.List<String> raizes = new java.util.ArrayList<>();
+                            for (ResultadoRaiz r : get()) {
+                                raizes.add(r.toStringComTempo());
+                            }
+                            if (raizes.isEmpty()) {
+                                resultArea.setText(isPolinomio() ? "O polinômio não tem raízes reais"
+                                        : "Nenhuma raiz encontrada em [-100,100]");
+                            } else {
+                                resultArea.setText(String.join("\n", raizes));
                             }
+                            resultArea.append(String.format("%n%s: %d avaliações de f + %d intervalares, %.2f ms",
+                                    metodo.nome(), getAvaliacoes(), getAvaliacoesIntervalares(),
+                                    getMilissegundos()));
+                            if (getMotivo() != null) {
+                                resultArea.append("\nBusca interrompida: " + getMotivo());
+                            } else {
+                                progresso.setValue(100);
+                            }
+                        } catch (java.util.concurrent.ExecutionException ex) {
+                            resultArea.setText("Erro: " + ex.getCause().getMessage());
+                        } catch (InterruptedException ex) {
+                            Thread.currentThread().interrupt();
                         }
-                        xPrev = x;
-                        fPrev = f;
                     }
-                    if (!raizes.isEmpty()) break;
-                }
-
-                if (raizes.isEmpty()) {
-                    resultArea.setText("Nenhuma raiz encontrada em [-100,100]");
-                } else {
-                    resultArea.setText(String.join("\n", raizes));
-                }
-
+                };
+                busca[0].addPropertyChangeListener(ev -> {
+                    if ("progress".equals(ev.getPropertyName())) progresso.setValue((Integer) ev.getNewValue());
+                });
+                progresso.setValue(0);
+                resultArea.setText("Buscando...\n");
+                calcButton.setText("Cancelar");
+                busca[0].execute();
+
+            } catch (ErroExpressao ex) {
+                // JTextArea usa fonte monoespacada: o '^' fica embaixo do erro
+                resultArea.setText("Erro na função: " + ex.getMessage() + "\n" + ex.destacar());
             } catch (Exception ex) {
                 resultArea.setText("Erro: " + ex.getMessage());
             }
@@ -0,0 +1,93 @@
+package backend;
+
+import java.util.function.DoubleUnaryOperator;
+
+/**
+ * Metodo de Newton protegido por bisseccao (estilo rtsafe).
+ *
+ * Mantem sempre um intervalo [a, b] com troca de sinal. A cada passo tenta
+ * Newton, x <- x - f(x)/f'(x); se o passo sair do intervalo ou nao reduzir
+ * o erro pelo menos pela metade em relacao ao passo anterior, faz bisseccao.
+ * Assim conserva a garantia da bisseccao e converge quadraticamente perto
+ * de raizes simples.
+ */
+public class NewtonBisseccao implements MetodoRaiz {
+
+    @Override
+    public String nome() {
+        return "Newton-Bisseccao";
+    }
+
+    @Override
+    public String toString() {
+        return nome();
+    }
+
+    @Override
+    public ResultadoRaiz resolver(DoubleUnaryOperator f, DoubleUnaryOperator df,
+                                  double a, double b, double fa, double fb, double tol, int iterMax) {
+        return refinar(f, df, a, b, fa, fb, tol, iterMax);
+    }
+
+    /**
+     * Refina uma raiz de f em [a, b], dados f(a) e f(b) com sinais opostos
+     * (ja conhecidos pela varredura, nao sao reavaliados).
+     * Para quando |f(x)| <= tol ou o passo (ou o intervalo) fica <= tol.
+     * @param f funcao
+     * @param df derivada de f
+     */
+    public static ResultadoRaiz refinar(DoubleUnaryOperator f, DoubleUnaryOperator df,
+                                        double a, double b, double fa, double fb,
+                                        double tol, int iterMax) {
+        if (!(fa * fb < 0)) {
+            throw new IllegalArgumentException("f(a) e f(b) devem ter sinais opostos.");
+        }
+        // xl: lado com f < 0; xh: lado com f > 0
+        double xl = fa < 0 ? a : b;
+        double xh = fa < 0 ? b : a;
+        // Ponto inicial pela secante entre (a, fa) e (b, fb): aproveita os valores ja conhecidos
+        double x = a - fa * (b - a) / (fb - fa);
+        if (!(x > Math.min(a, b) && x < Math.max(a, b))) x = 0.5 * (a + b);
+        double dxAnterior = Math.abs(b - a);
+        double dx = dxAnterior;
+        double fx = f.applyAsDouble(x);
+        double dfx = df.applyAsDouble(x);
+        int avaliacoes = 2;
+
+        for (int iter = 0; iter < iterMax; iter++) {
+            if (!Double.isFinite(fx)) {
+                return new ResultadoRaiz(x, fx, Math.min(xl, xh), Math.max(xl, xh), iter, avaliacoes, false);
+            }
+            if (Math.abs(fx) <= tol) {
+                return new ResultadoRaiz(x, fx, Math.min(xl, xh), Math.max(xl, xh), iter, avaliacoes, true);
+            }
+            if (fx < 0) {
+                xl = x;
+            } else {
+                xh = x;
+            }
+            // Newton fora de [xl, xh], derivada invalida ou convergencia lenta => bisseccao
+            boolean foraDoIntervalo = ((x - xh) * dfx - fx) * ((x - xl) * dfx - fx) > 0;
+            if (!Double.isFinite(dfx) || dfx == 0.0 || foraDoIntervalo
+                    || Math.abs(2.0 * fx) > Math.abs(dxAnterior * dfx)) {
+                dxAnterior = dx;
+                dx = 0.5 * (xh - xl);
+                x = xl + dx;
+            } else {
+                dxAnterior = dx;
+                dx = fx / dfx;
+                x -= dx;
+            }
+            if (Math.abs(dx) <= tol || Math.abs(xh - xl) <= 2 * tol) {
+                fx = f.applyAsDouble(x);
+                avaliacoes++;
+                return new ResultadoRaiz(x, fx, Math.min(xl, xh), Math.max(xl, xh), iter + 1, avaliacoes,
+                        Double.isFinite(fx));
+            }
+            fx = f.applyAsDouble(x);
+            dfx = df.applyAsDouble(x);
+            avaliacoes += 2;
+        }
+        return new ResultadoRaiz(x, fx, Math.min(xl, xh), Math.max(xl, xh), iterMax, avaliacoes, false);
+    }
+}
@@ -0,0 +1,316 @@
+package backend;
+
+/**
+ * No da arvore de uma expressao f(x) ja analisada (ver BisseccaoSwing.Expr).
+ *
+ * Os nos sao imutaveis: a mesma arvore pode ser avaliada por varias threads
+ * ao mesmo tempo, e a avaliacao nao aloca memoria. Depois da simplificacao
+ * (SimplificadorExpr) subexpressoes iguais sao o mesmo objeto, entao a
+ * "arvore" e na verdade um grafo aciclico (DAG).
+ */
+abstract class NoExpr {
+
+    // Valor do no para a variavel x
+    abstract double eval(double x);
+
+    // Valor do no com varias variaveis: v[i] e o valor da variavel de indice i (ver ExprMulti)
+    abstract double eval(double[] v);
+
+    // Faixa de valores do no para x no intervalo dado (ver Intervalo)
+    abstract Intervalo evalIntervalo(Intervalo x);
+
+    // Numero ou constante (pi, e)
+    static final class Const extends NoExpr {
+        final double valor;
+
+        Const(double valor) {
+            this.valor = valor;
+        }
+
+        @Override
+        double eval(double x) {
+            return valor;
+        }
+
+        @Override
+        double eval(double[] v) {
+            return valor;
+        }
+
+        @Override
+        Intervalo evalIntervalo(Intervalo x) {
+            return Double.isNaN(valor) ? Intervalo.VAZIO : Intervalo.ponto(valor);
+        }
+
+        @Override
+        public String toString() {
+            return Double.toString(valor);
+        }
+    }
+
+    // Variavel x (indice 0), ou variavel de indice i numa ExprMulti
+    static final class Var extends NoExpr {
+        static final Var X = new Var(0, "x");
+
+        final int indice;
+        final String nome;
+
+        Var(int indice, String nome) {
+            this.indice = indice;
+            this.nome = nome;
+        }
+
+        @Override
+        double eval(double x) {
+            return x;
+        }
+
+        @Override
+        double eval(double[] v) {
+            return v[indice];
+        }
+
+        @Override
+        Intervalo evalIntervalo(Intervalo x) {
+            return x;
+        }
+
+        @Override
+        public String toString() {
+            return nome;
+        }
+    }
+
+    // Menos unario
+    static final class Neg extends NoExpr {
+        final NoExpr a;
+
+        Neg(NoExpr a) {
+            this.a = a;
+        }
+
+        @Override
+        double eval(double x) {
+            return -a.eval(x);
+        }
+
+        @Override
+        double eval(double[] v) {
+            return -a.eval(v);
+        }
+
+        @Override
+        Intervalo evalIntervalo(Intervalo x) {
+            return a.evalIntervalo(x).neg();
+        }
+
+        @Override
+        public String toString() {
+            return "(-" + a + ")";
+        }
+    }
+
+    // Operacao binaria: + - * / ^
+    static final class Bin extends NoExpr {
+        final char op;
+        final NoExpr a, b;
+
+        Bin(char op, NoExpr a, NoExpr b) {
+            this.op = op;
+            this.a = a;
+            this.b = b;
+        }
+
+        @Override
+        double eval(double x) {
+            return aplicar(op, a.eval(x), b.eval(x));
+        }
+
+        @Override
+        double eval(double[] v) {
+            return aplicar(op, a.eval(v), b.eval(v));
+        }
+
+        @Override
+        Intervalo evalIntervalo(Intervalo x) {
+            Intervalo va = a.evalIntervalo(x), vb = b.evalIntervalo(x);
+            switch (op) {
+                case '+': return va.soma(vb);
+                case '-': return va.sub(vb);
+                case '*': return va.mul(vb);
+                case '/': return va.div(vb);
+                default:  return va.pow(vb);
+            }
+        }
+
+        static double aplicar(char op, double va, double vb) {
+            switch (op) {
+                case '+': return va + vb;
+                case '-': return va - vb;
+                case '*': return va * vb;
+                case '/': return va / vb;
+                default:  return Math.pow(va, vb);
+            }
+        }
+
+        @Override
+        public String toString() {
+            return "(" + a + " " + op + " " + b + ")";
+        }
+    }
+
+    // Potencia de expoente inteiro (criada pela simplificacao a partir de a^n)
+    static final class PotInt extends NoExpr {
+        final NoExpr a;
+        final int n;
+
+        PotInt(NoExpr a, int n) {
+            this.a = a;
+            this.n = n;
+        }
+
+        @Override
+        double eval(double x) {
+            return potInt(a.eval(x), n);
+        }
+
+        @Override
+        double eval(double[] v) {
+            return potInt(a.eval(v), n);
+        }
+
+        @Override
+        Intervalo evalIntervalo(Intervalo x) {
+            return a.evalIntervalo(x).potInt(n);
+        }
+
+        // a^n por quadrados sucessivos: x^2 = x*x, x^3 = x*(x*x), ...
+        static double potInt(double a, int n) {
+            int e = n < 0 ? -n : n;
+            double r = 1.0, base = a;
+            for (;;) {
+                if ((e & 1) != 0) r *= base;
+                e >>= 1;
+                if (e == 0) break;
+                base *= base;
+            }
+            return n < 0 ? 1.0 / r : r;
+        }
+
+        @Override
+        public String toString() {
+            return "(" + a + " ^ " + n + ")";
+        }
+    }
+
+    // Funcao de um argumento
+    static final class Func extends NoExpr {
+        final Funcao f;
+        final NoExpr a;
+
+        Func(Funcao f, NoExpr a) {
+            this.f = f;
+            this.a = a;
+        }
+
+        @Override
+        double eval(double x) {
+            return f.aplicar(a.eval(x));
+        }
+
+        @Override
+        double eval(double[] v) {
+            return f.aplicar(a.eval(v));
+        }
+
+        @Override
+        Intervalo evalIntervalo(Intervalo x) {
+            return f.aplicar(a.evalIntervalo(x));
+        }
+
+        @Override
+        public String toString() {
+            return f.nome + "(" + a + ")";
+        }
+    }
+
+    // Funcoes aceitas pelo parser
+    enum Funcao {
+        SIN("sin"), COS("cos"), TAN("tan"), SQRT("sqrt"), LOG("log"), LOG10("log10"),
+        EXP("exp"), ABS("abs"), SIGN("sign"), FLOOR("floor"), CEIL("ceil");
+
+        final String nome;
+
+        Funcao(String nome) {
+            this.nome = nome;
+        }
+
+        double aplicar(double a) {
+            switch (this) {
+                case SIN:   return Math.sin(a);
+                case COS:   return Math.cos(a);
+                case TAN:   return Math.tan(a);
+                case SQRT:  return Math.sqrt(a);
+                case LOG:   return Math.log(a);
+                case LOG10: return Math.log10(a);
+                case EXP:   return Math.exp(a);
+                case ABS:   return Math.abs(a);
+                case SIGN:  return Math.signum(a);
+                case FLOOR: return Math.floor(a);
+                default:    return Math.ceil(a);
+            }
+        }
+
+        Intervalo aplicar(Intervalo a) {
+            switch (this) {
+                case SIN:   return a.sin();
+                case COS:   return a.cos();
+                case TAN:   return a.tan();
+                case SQRT:  return a.sqrt();
+                case LOG:   return a.log();
+                case LOG10: return a.log10();
+                case EXP:   return a.exp();
+                case ABS:   return a.abs();
+                case SIGN:  return a.sign();
+                case FLOOR: return a.floor();
+                default:    return a.ceil();
+            }
+        }
+
+        // d[i] = f(v[i]) para i = 0..n-1, um laco por funcao (d pode ser v)
+        void aplicarLote(double[] v, double[] d, int n) {
+            switch (this) {
+                case SIN:   for (int i = 0; i < n; i++) d[i] = Math.sin(v[i]); break;
+                case COS:   for (int i = 0; i < n; i++) d[i] = Math.cos(v[i]); break;
+                case TAN:   for (int i = 0; i < n; i++) d[i] = Math.tan(v[i]); break;
+                case SQRT:  for (int i = 0; i < n; i++) d[i] = Math.sqrt(v[i]); break;
+                case LOG:   for (int i = 0; i < n; i++) d[i] = Math.log(v[i]); break;
+                case LOG10: for (int i = 0; i < n; i++) d[i] = Math.log10(v[i]); break;
+                case EXP:   for (int i = 0; i < n; i++) d[i] = Math.exp(v[i]); break;
+                case ABS:   for (int i = 0; i < n; i++) d[i] = Math.abs(v[i]); break;
+                case SIGN:  for (int i = 0; i < n; i++) d[i] = Math.signum(v[i]); break;
+                case FLOOR: for (int i = 0; i < n; i++) d[i] = Math.floor(v[i]); break;
+                default:    for (int i = 0; i < n; i++) d[i] = Math.ceil(v[i]);
+            }
+        }
+
+        // true se f esta definida para todo real (sem contar overflow)
+        boolean total() {
+            return this != TAN && this != SQRT && this != LOG && this != LOG10;
+        }
+
+        // Metodo estatico de java.lang.Math equivalente (assinatura (D)D)
+        String metodoMath() {
+            return this == SIGN ? "signum" : nome;
+        }
+
+        // null se o nome nao for uma funcao conhecida ("ln" e sinonimo de "log")
+        static Funcao porNome(String nome) {
+            if (nome.equals("ln")) return LOG;
+            for (Funcao f : values()) {
+                if (f.nome.equals(nome)) return f;
+            }
+            return null;
+        }
+    }
+}
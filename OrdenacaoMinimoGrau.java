@@ -0,0 +1,180 @@
+package backend;
+
+import java.util.Arrays;
+
+/**
+ * Ordenacao de minimo grau aproximado (estilo AMD) para reduzir o
+ * preenchimento (fill-in) na fatoracao LU esparsa.
+ *
+ * Trabalha sobre o grafo de A + A^T usando um grafo quociente: cada
+ * variavel eliminada vira um "elemento" que representa a clique formada
+ * por seus vizinhos, em vez de inserir essa clique explicitamente. O grau
+ * de cada variavel e uma cota superior do grau externo (como no AMD):
+ *   d(i) = |A_i| + |L_p \ i| + soma_{e em E_i, e != p} |L_e \ L_p|
+ * Elementos contidos em L_p sao absorvidos (absorcao agressiva).
+ */
+final class OrdenacaoMinimoGrau {
+
+    private OrdenacaoMinimoGrau() {
+    }
+
+    /**
+     * Calcula a ordem de eliminacao.
+     * @param n numero de vertices
+     * @param ptr inicio da lista de vizinhos de cada vertice (tamanho n+1)
+     * @param adj vizinhos (grafo simetrico, sem laços)
+     * @return q, onde q[k] e o vertice eliminado na posicao k
+     */
+    static int[] ordenar(int n, int[] ptr, int[] adj) {
+        // Listas de variaveis adjacentes (A_i)
+        int[][] vars = new int[n][];
+        int[] nVars = new int[n];
+        for (int i = 0; i < n; i++) {
+            nVars[i] = ptr[i + 1] - ptr[i];
+            vars[i] = Arrays.copyOfRange(adj, ptr[i], ptr[i + 1]);
+        }
+        // Listas de elementos adjacentes (E_i) e membros de cada elemento (L_e)
+        int[][] elems = new int[n][];
+        int[] nElems = new int[n];
+        int[][] membros = new int[n][];
+        boolean[] eliminado = new boolean[n];
+        boolean[] absorvido = new boolean[n];
+
+        // Baldes de grau (listas duplamente encadeadas)
+        int[] grau = new int[n];
+        int[] cabeca = new int[n];
+        int[] proximo = new int[n];
+        int[] anterior = new int[n];
+        Arrays.fill(cabeca, -1);
+        for (int i = 0; i < n; i++) {
+            grau[i] = nVars[i];
+            elems[i] = new int[4];
+            inserirBalde(i, grau[i], cabeca, proximo, anterior);
+        }
+        int grauMin = 0;
+
+        int[] marca = new int[n];    // marca de variaveis por etapa
+        int[] marcaW = new int[n];   // marca de elementos com w(e) ja calculado
+        int[] w = new int[n];        // |L_e \ L_p| dos elementos tocados
+        int etapa = 0;
+
+        int[] q = new int[n];
+        int[] Lp = new int[n];
+        for (int k = 0; k < n; k++) {
+            // Variavel de menor grau aproximado
+            while (cabeca[grauMin] == -1) grauMin++;
+            int p = cabeca[grauMin];
+            removerBalde(p, grau[p], cabeca, proximo, anterior);
+            eliminado[p] = true;
+            q[k] = p;
+            etapa++;
+
+            // L_p = (A_p U (uniao dos L_e, e em E_p)) \ {p}
+            int nLp = 0;
+            marca[p] = etapa;
+            for (int t = 0; t < nVars[p]; t++) {
+                int v = vars[p][t];
+                if (!eliminado[v] && marca[v] != etapa) {
+                    marca[v] = etapa;
+                    Lp[nLp++] = v;
+                }
+            }
+            for (int t = 0; t < nElems[p]; t++) {
+                int e = elems[p][t];
+                if (absorvido[e]) continue;
+                for (int v : membros[e]) {
+                    if (!eliminado[v] && marca[v] != etapa) {
+                        marca[v] = etapa;
+                        Lp[nLp++] = v;
+                    }
+                }
+                // todo elemento que contem p e absorvido pelo novo elemento p
+                absorvido[e] = true;
+                membros[e] = null;
+            }
+            membros[p] = Arrays.copyOf(Lp, nLp);
+            vars[p] = null;
+            elems[p] = null;
+
+            // Atualiza as listas de cada i em L_p
+            for (int t = 0; t < nLp; t++) {
+                int i = Lp[t];
+                removerBalde(i, grau[i], cabeca, proximo, anterior);
+
+                // A_i: remove p, eliminados e vizinhos ja cobertos pelo elemento p
+                int[] vi = vars[i];
+                int m = 0;
+                for (int s = 0; s < nVars[i]; s++) {
+                    int v = vi[s];
+                    if (!eliminado[v] && marca[v] != etapa) vi[m++] = v;
+                }
+                nVars[i] = m;
+
+                // E_i: remove absorvidos e acrescenta p
+                int[] ei = elems[i];
+                m = 0;
+                for (int s = 0; s < nElems[i]; s++) {
+                    int e = ei[s];
+                    if (!absorvido[e]) ei[m++] = e;
+                }
+                if (m == ei.length) {
+                    ei = Arrays.copyOf(ei, 2 * m + 1);
+                    elems[i] = ei;
+                }
+                ei[m++] = p;
+                nElems[i] = m;
+            }
+
+            // w(e) = |L_e \ L_p| para os elementos vizinhos de L_p
+            for (int t = 0; t < nLp; t++) {
+                int i = Lp[t];
+                for (int s = 0; s < nElems[i]; s++) {
+                    int e = elems[i][s];
+                    if (e == p) continue;
+                    if (marcaW[e] != etapa) {
+                        marcaW[e] = etapa;
+                        w[e] = membros[e].length;
+                    }
+                    w[e]--;
+                }
+            }
+
+            // Grau aproximado e reinsercao nos baldes
+            int restantes = n - k - 1;
+            for (int t = 0; t < nLp; t++) {
+                int i = Lp[t];
+                int d = nVars[i] + nLp - 1;
+                for (int s = 0; s < nElems[i]; s++) {
+                    int e = elems[i][s];
+                    if (e == p || absorvido[e]) continue;
+                    if (w[e] == 0) {
+                        // L_e contido em L_p: absorcao agressiva
+                        absorvido[e] = true;
+                        membros[e] = null;
+                    } else {
+                        d += w[e];
+                    }
+                }
+                d = Math.min(d, grau[i] + nLp - 1);
+                d = Math.min(d, restantes);
+                grau[i] = Math.max(d, 0);
+                inserirBalde(i, grau[i], cabeca, proximo, anterior);
+                if (grau[i] < grauMin) grauMin = grau[i];
+            }
+        }
+        return q;
+    }
+
+    private static void inserirBalde(int i, int d, int[] cabeca, int[] proximo, int[] anterior) {
+        proximo[i] = cabeca[d];
+        anterior[i] = -1;
+        if (cabeca[d] != -1) anterior[cabeca[d]] = i;
+        cabeca[d] = i;
+    }
+
+    private static void removerBalde(int i, int d, int[] cabeca, int[] proximo, int[] anterior) {
+        if (anterior[i] != -1) proximo[anterior[i]] = proximo[i];
+        else cabeca[d] = proximo[i];
+        if (proximo[i] != -1) anterior[proximo[i]] = anterior[i];
+    }
+}
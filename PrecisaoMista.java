@@ -0,0 +1,219 @@
+package backend;
+
+/**
+ * Resolucao de Ax = b em precisao mista com refinamento iterativo.
+ *
+ * Passos:
+ * 1) Fatora A em float (LU blocada com pivotamento parcial): metade do
+ *    trafego de memoria da fatoracao em double
+ * 2) x0 = solucao com os fatores float
+ * 3) Repete: r = b - A x (em double), resolve A d = r com os fatores float
+ *    e faz x <- x + d, ate ||r|| <= sqrt(n) * eps * ||A|| * ||x|| (precisao double)
+ * 4) Se o refinamento estagnar (ou a fatoracao float falhar), resolve
+ *    pelo caminho double de GaussEliminacao
+ */
+public class PrecisaoMista {
+
+    // Mesmo limite de iteracoes usado pelo LAPACK (dsgesv)
+    public static final int ITER_MAX_PADRAO = 30;
+
+    // Resultado do solve em precisao mista
+    public static class ResultadoMisto {
+        public final double[] solucao;     // vetor solucao x
+        public final int iteracoes;        // passos de refinamento executados
+        public final double normaResiduo;  // ||b - Ax||_inf final
+        public final boolean usouFallback; // true se precisou do caminho double
+
+        ResultadoMisto(double[] solucao, int iteracoes, double normaResiduo, boolean usouFallback) {
+            this.solucao = solucao;
+            this.iteracoes = iteracoes;
+            this.normaResiduo = normaResiduo;
+            this.usouFallback = usouFallback;
+        }
+    }
+
+    public static ResultadoMisto solve(double[][] A, double[] b) {
+        return solve(A, b, ITER_MAX_PADRAO);
+    }
+
+    /**
+     * @param A matriz dos coeficientes (nao e alterada)
+     * @param b vetor de termos independentes (nao e alterado)
+     * @param iterMax maximo de passos de refinamento antes do fallback
+     */
+    public static ResultadoMisto solve(double[][] A, double[] b, int iterMax) {
+        int n = A.length;
+        if (n == 0 || A[0].length != n || b.length != n) {
+            throw new IllegalArgumentException("Dimensoes invalidas: A deve ser n x n e b tamanho n.");
+        }
+
+        // Copia para float; valores fora do alcance do float vao direto para double
+        float[] luf = new float[n * n];
+        double normaA = 0.0;
+        boolean cabeEmFloat = true;
+        for (int i = 0; i < n; i++) {
+            double somaLinha = 0.0;
+            for (int j = 0; j < n; j++) {
+                double v = A[i][j];
+                somaLinha += Math.abs(v);
+                if (Math.abs(v) > Float.MAX_VALUE) cabeEmFloat = false;
+                luf[i * n + j] = (float) v;
+            }
+            normaA = Math.max(normaA, somaLinha);
+        }
+        int[] perm = new int[n];
+        if (!cabeEmFloat || !fatorarFloat(luf, n, perm, GaussEliminacao.TAMANHO_BLOCO_PADRAO)) {
+            return fallback(A, b, 0);
+        }
+
+        double[] x = substituirFloat(luf, n, perm, b);
+        double[] r = new double[n];
+        double limite = Math.sqrt(n) * Math.ulp(1.0);
+        double residuoAnterior = Double.POSITIVE_INFINITY;
+        int estagnado = 0;
+        for (int iter = 0; iter <= iterMax; iter++) {
+            // r = b - A x em double
+            double normaR = 0.0, normaX = 0.0;
+            for (int i = 0; i < n; i++) {
+                double[] linha = A[i];
+                double soma = b[i];
+                for (int j = 0; j < n; j++) {
+                    soma -= linha[j] * x[j];
+                }
+                r[i] = soma;
+                normaR = Math.max(normaR, Math.abs(soma));
+                normaX = Math.max(normaX, Math.abs(x[i]));
+            }
+            if (Double.isNaN(normaR) || Double.isInfinite(normaR)) {
+                return fallback(A, b, iter);
+            }
+            if (normaR <= limite * normaA * normaX) {
+                return new ResultadoMisto(x, iter, normaR, false);
+            }
+            // Estagnacao: o residuo nao caiu pela metade em duas iteracoes seguidas
+            if (normaR > 0.5 * residuoAnterior) {
+                if (++estagnado >= 2) return fallback(A, b, iter);
+            } else {
+                estagnado = 0;
+            }
+            residuoAnterior = normaR;
+
+            double[] d = substituirFloat(luf, n, perm, r);
+            for (int i = 0; i < n; i++) {
+                x[i] += d[i];
+            }
+        }
+        return fallback(A, b, iterMax);
+    }
+
+    // Caminho double completo (sem rastreio de etapas)
+    private static ResultadoMisto fallback(double[][] A, double[] b, int iteracoes) {
+        double[] x = GaussEliminacao.solve(A, b, GaussEliminacao.Rastreio.nenhum()).solucao;
+        double normaR = 0.0;
+        for (int i = 0; i < A.length; i++) {
+            double soma = b[i];
+            for (int j = 0; j < A.length; j++) {
+                soma -= A[i][j] * x[j];
+            }
+            normaR = Math.max(normaR, Math.abs(soma));
+        }
+        return new ResultadoMisto(x, iteracoes, normaR, true);
+    }
+
+    // LU blocada em float, mesma estrutura de GaussEliminacao.fatorarLUBlocado;
+    // devolve false se algum pivo for nulo ou nao finito
+    private static boolean fatorarFloat(float[] a, int n, int[] perm, int tamanhoBloco) {
+        for (int i = 0; i < n; i++) perm[i] = i;
+        for (int kb = 0; kb < n; kb += tamanhoBloco) {
+            int fimPainel = Math.min(kb + tamanhoBloco, n);
+
+            // Painel com pivotamento parcial
+            for (int k = kb; k < fimPainel; k++) {
+                int pivo = k;
+                float maxAbs = Math.abs(a[k * n + k]);
+                for (int i = k + 1; i < n; i++) {
+                    float val = Math.abs(a[i * n + k]);
+                    if (val > maxAbs) {
+                        maxAbs = val;
+                        pivo = i;
+                    }
+                }
+                if (pivo != k) {
+                    int o1 = k * n, o2 = pivo * n;
+                    for (int j = 0; j < n; j++) {
+                        float t = a[o1 + j]; a[o1 + j] = a[o2 + j]; a[o2 + j] = t;
+                    }
+                    int tmpPerm = perm[k]; perm[k] = perm[pivo]; perm[pivo] = tmpPerm;
+                }
+                float pivotValue = a[k * n + k];
+                if (pivotValue == 0.0f || !Float.isFinite(pivotValue)) {
+                    return false;
+                }
+                int linhaK = k * n;
+                for (int i = k + 1; i < n; i++) {
+                    int linhaI = i * n;
+                    float Lik = a[linhaI + k] / pivotValue;
+                    a[linhaI + k] = Lik;
+                    for (int j = k + 1; j < fimPainel; j++) {
+                        a[linhaI + j] -= Lik * a[linhaK + j];
+                    }
+                }
+            }
+
+            // U12 <- L11^-1 * A12
+            for (int k = kb; k < fimPainel; k++) {
+                int linhaK = k * n;
+                for (int i = k + 1; i < fimPainel; i++) {
+                    int linhaI = i * n;
+                    float Lik = a[linhaI + k];
+                    if (Lik == 0.0f) continue;
+                    for (int j = fimPainel; j < n; j++) {
+                        a[linhaI + j] -= Lik * a[linhaK + j];
+                    }
+                }
+            }
+
+            // A22 <- A22 - L21 * U12 em ladrilhos de colunas
+            for (int jj = fimPainel; jj < n; jj += tamanhoBloco) {
+                int jFim = Math.min(jj + tamanhoBloco, n);
+                for (int i = fimPainel; i < n; i++) {
+                    int linhaI = i * n;
+                    for (int k = kb; k < fimPainel; k++) {
+                        float Lik = a[linhaI + k];
+                        if (Lik == 0.0f) continue;
+                        int linhaK = k * n;
+                        for (int j = jj; j < jFim; j++) {
+                            a[linhaI + j] -= Lik * a[linhaK + j];
+                        }
+                    }
+                }
+            }
+        }
+        return true;
+    }
+
+    // Substituicoes com os fatores float; o vetor e acumulado em double
+    private static double[] substituirFloat(float[] lu, int n, int[] perm, double[] b) {
+        double[] x = new double[n];
+        for (int i = 0; i < n; i++) {
+            x[i] = b[perm[i]];
+        }
+        for (int i = 1; i < n; i++) {
+            int linhaI = i * n;
+            double soma = x[i];
+            for (int j = 0; j < i; j++) {
+                soma -= lu[linhaI + j] * x[j];
+            }
+            x[i] = soma;
+        }
+        for (int i = n - 1; i >= 0; i--) {
+            int linhaI = i * n;
+            double soma = x[i];
+            for (int j = i + 1; j < n; j++) {
+                soma -= lu[linhaI + j] * x[j];
+            }
+            x[i] = soma / lu[linhaI + i];
+        }
+        return x;
+    }
+}
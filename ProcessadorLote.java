@@ -0,0 +1,364 @@
+package backend;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedReader;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Processador em lote sem interface grafica: le sistemas lineares e buscas
+ * de raizes de arquivos (ou da entrada padrao), resolve com um conjunto
+ * limitado de threads e escreve cada resultado assim que fica pronto, na
+ * ordem de entrada. Apenas uma janela de tarefas fica na memoria.
+ *
+ * Uso:
+ *   java backend.ProcessadorLote [--threads N] [--binario] [--saida arq] [arquivo ...]
+ * Sem arquivos (ou com "-"), le da entrada padrao.
+ *
+ * Formato texto (uma tarefa por linha; linhas vazias e '#' sao ignoradas):
+ *   gauss n a11 a12 ... ann b1 ... bn
+ *   raiz tol inicio fim f(x)     (so em [inicio, fim], mesmo para polinomios)
+ *   isolar tol inicio fim f(x)   (todas as raizes, por IsoladorIntervalar)
+ *   integral tol a b f(x)        (IntegradorAdaptativo)
+ *
+ * Formato binario (DataInputStream, big-endian), registros seguidos:
+ *   byte 1, int n, n*n doubles de A (por linhas), n doubles de b
+ *   byte 2, double tol, double inicio, double fim, UTF f(x)
+ *
+ * Saida (uma linha por tarefa, numerada a partir de 1):
+ *   id OK x1 x2 ... xn
+ *   id RAIZES descricao | descricao | ...
+ *   id INTEGRAL valor erroEstimado
+ *   id ERRO mensagem
+ */
+public class ProcessadorLote {
+
+    private static final byte TIPO_GAUSS = 1;
+    private static final byte TIPO_RAIZ = 2;
+
+    private final ExecutorService executor;
+    private final int janela;
+    private final PrintWriter saida;
+    private final ArrayDeque<Future<String>> pendentes = new ArrayDeque<>();
+    private long proximoId = 1;
+
+    /**
+     * @param threads numero de threads de trabalho
+     * @param saida destino dos resultados
+     */
+    public ProcessadorLote(int threads, PrintWriter saida) {
+        this.executor = Executors.newFixedThreadPool(threads);
+        this.janela = 4 * threads;
+        this.saida = saida;
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        int threads = Runtime.getRuntime().availableProcessors();
+        boolean binario = false;
+        String arquivoSaida = null;
+        List<String> entradas = new ArrayList<>();
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--threads": {
+                    String valor = valorOpcao(args, ++i, "--threads");
+                    try {
+                        threads = Integer.parseInt(valor);
+                    } catch (NumberFormatException ex) {
+                        sairComErro("--threads deve ser um inteiro: " + valor);
+                    }
+                    break;
+                }
+                case "--binario": binario = true; break;
+                case "--saida": arquivoSaida = valorOpcao(args, ++i, "--saida"); break;
+                default: entradas.add(args[i]);
+            }
+        }
+        if (threads < 1) {
+            sairComErro("--threads deve ser >= 1");
+        }
+        if (entradas.isEmpty()) entradas.add("-");
+
+        try (PrintWriter saida = new PrintWriter(new OutputStreamWriter(
+                arquivoSaida == null ? System.out : new FileOutputStream(arquivoSaida),
+                StandardCharsets.UTF_8))) {
+            ProcessadorLote lote = new ProcessadorLote(threads, saida);
+            try {
+                for (String entrada : entradas) {
+                    if ("-".equals(entrada)) {
+                        processar(lote, System.in, binario);
+                    } else {
+                        try (InputStream in = new FileInputStream(entrada)) {
+                            processar(lote, in, binario);
+                        }
+                    }
+                }
+            } finally {
+                lote.encerrar();
+            }
+        }
+    }
+
+    private static void processar(ProcessadorLote lote, InputStream in, boolean binario)
+            throws IOException, InterruptedException {
+        if (binario) lote.processarBinario(in);
+        else lote.processarTexto(in);
+    }
+
+    // Valor da opcao em args[i]; sai com erro se a opcao for o ultimo argumento
+    private static String valorOpcao(String[] args, int i, String opcao) {
+        if (i >= args.length) {
+            sairComErro(opcao + " requer um valor");
+        }
+        return args[i];
+    }
+
+    private static void sairComErro(String mensagem) {
+        System.err.println("Erro: " + mensagem);
+        System.exit(2);
+    }
+
+    /**
+     * Le tarefas no formato texto ate o fim da entrada.
+     */
+    public void processarTexto(InputStream in) throws IOException, InterruptedException {
+        BufferedReader leitor = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        String linha;
+        while ((linha = leitor.readLine()) != null) {
+            String t = linha.trim();
+            if (t.isEmpty() || t.startsWith("#")) continue;
+            submeter(() -> executarLinha(t));
+        }
+    }
+
+    /**
+     * Le tarefas no formato binario ate o fim da entrada.
+     */
+    public void processarBinario(InputStream in) throws IOException, InterruptedException {
+        DataInputStream dados = new DataInputStream(new BufferedInputStream(in));
+        for (;;) {
+            int tipo;
+            try {
+                tipo = dados.readByte();
+            } catch (EOFException fim) {
+                return;
+            }
+            if (tipo == TIPO_GAUSS) {
+                int n = dados.readInt();
+                if (n <= 0) throw new IOException("Registro gauss com n invalido: " + n);
+                double[][] A = new double[n][n];
+                double[] b = new double[n];
+                for (int i = 0; i < n; i++) {
+                    for (int j = 0; j < n; j++) A[i][j] = dados.readDouble();
+                }
+                for (int i = 0; i < n; i++) b[i] = dados.readDouble();
+                submeter(() -> resolverGauss(A, b));
+            } else if (tipo == TIPO_RAIZ) {
+                double tol = dados.readDouble();
+                double inicio = dados.readDouble();
+                double fim = dados.readDouble();
+                String func = dados.readUTF();
+                submeter(() -> buscarRaizes(func, tol, inicio, fim));
+            } else {
+                throw new IOException("Tipo de registro desconhecido: " + tipo);
+            }
+        }
+    }
+
+    // Enfileira a tarefa; se a janela encheu, escreve o resultado mais antigo antes
+    private void submeter(Callable<String> tarefa) throws InterruptedException {
+        while (pendentes.size() >= janela) {
+            escreverProximo();
+        }
+        pendentes.addLast(executor.submit(tarefa));
+    }
+
+    private void escreverProximo() throws InterruptedException {
+        Future<String> futuro = pendentes.removeFirst();
+        String resultado;
+        try {
+            resultado = futuro.get();
+        } catch (ExecutionException ex) {
+            Throwable causa = ex.getCause();
+            resultado = "ERRO " + causa.getClass().getSimpleName() + ": " + causa.getMessage();
+        }
+        saida.println(proximoId++ + " " + resultado);
+        saida.flush();
+    }
+
+    /**
+     * Escreve os resultados restantes e libera as threads.
+     */
+    public void encerrar() throws InterruptedException {
+        try {
+            while (!pendentes.isEmpty()) {
+                escreverProximo();
+            }
+        } finally {
+            executor.shutdown();
+            saida.flush();
+        }
+    }
+
+    private static String executarLinha(String linha) {
+        String[] partes = linha.split("\\s+", 5);
+        try {
+            switch (partes[0]) {
+                case "gauss": {
+                    String[] nums = linha.split("\\s+");
+                    if (nums.length < 2) {
+                        return faltamArgumentos(linha, "gauss n a11 a12 ... ann b1 ... bn");
+                    }
+                    int n = Integer.parseInt(nums[1]);
+                    if (n <= 0 || nums.length != 2 + (long) n * n + n) {
+                        return "ERRO esperado 'gauss n' seguido de " + ((long) n * n + n) + " numeros";
+                    }
+                    double[][] A = new double[n][n];
+                    double[] b = new double[n];
+                    int p = 2;
+                    for (int i = 0; i < n; i++) {
+                        for (int j = 0; j < n; j++) A[i][j] = Double.parseDouble(nums[p++]);
+                    }
+                    for (int i = 0; i < n; i++) b[i] = Double.parseDouble(nums[p++]);
+                    return resolverGauss(A, b);
+                }
+                case "raiz": {
+                    if (partes.length < 5) {
+                        return faltamArgumentos(linha, "raiz tol inicio fim f(x)");
+                    }
+                    return buscarRaizes(partes[4], Double.parseDouble(partes[1]),
+                            Double.parseDouble(partes[2]), Double.parseDouble(partes[3]));
+                }
+                case "isolar": {
+                    if (partes.length < 5) {
+                        return faltamArgumentos(linha, "isolar tol inicio fim f(x)");
+                    }
+                    return isolarRaizes(partes[4], Double.parseDouble(partes[1]),
+                            Double.parseDouble(partes[2]), Double.parseDouble(partes[3]));
+                }
+                case "integral": {
+                    if (partes.length < 5) {
+                        return faltamArgumentos(linha, "integral tol a b f(x)");
+                    }
+                    return integrar(partes[4], Double.parseDouble(partes[1]),
+                            Double.parseDouble(partes[2]), Double.parseDouble(partes[3]));
+                }
+                default:
+                    return "ERRO tarefa desconhecida: " + partes[0];
+            }
+        } catch (NumberFormatException ex) {
+            return "ERRO numero invalido: " + ex.getMessage();
+        }
+    }
+
+    private static String faltamArgumentos(String linha, String formato) {
+        return "ERRO faltam argumentos em '" + linha + "': esperado '" + formato + "'";
+    }
+
+    private static String resolverGauss(double[][] A, double[] b) {
+        try {
+            double[] x = GaussEliminacao.solve(A, b, GaussEliminacao.Rastreio.nenhum()).solucao;
+            StringBuilder sb = new StringBuilder("OK");
+            for (double v : x) sb.append(' ').append(v);
+            return sb.toString();
+        } catch (RuntimeException ex) {
+            return "ERRO " + ex.getMessage();
+        }
+    }
+
+    // Raizes em [inicio, fim], polinomios inclusive (RaizesPolinomio, senao
+    // VarreduraRaizes). O botao Calcular usa os mesmos metodos, mas busca o
+    // polinomio na cota de Cauchy inteira. Sequencial: o paralelismo aqui ja
+    // e entre tarefas
+    private static String buscarRaizes(String func, double tol, double inicio, double fim) {
+        if (!(tol > 0)) {
+            return "ERRO tolerancia deve ser > 0";
+        }
+        if (!(fim > inicio)) {
+            return "ERRO intervalo invalido: inicio deve ser menor que fim";
+        }
+        try {
+            BisseccaoSwing.Expr expr = CacheExpr.global().obter(func);
+            double[] coef = expr.polinomio();
+            List<ResultadoRaiz> achadas;
+            boolean limiteAtingido = false;
+            if (RaizesPolinomio.aceita(coef)) {
+                achadas = new RaizesPolinomio(coef, new NewtonBisseccao(), expr).raizes(inicio, fim, tol, 1000);
+            } else {
+                VarreduraRaizes varredura = new VarreduraRaizes(expr);
+                achadas = varredura.raizes(inicio, fim, tol, 1000);
+                limiteAtingido = varredura.isLimiteAtingido();
+            }
+            StringBuilder sb = new StringBuilder("RAIZES");
+            String sep = " ";
+            for (ResultadoRaiz r : achadas) {
+                sb.append(sep).append(r);
+                sep = " | ";
+            }
+            if (limiteAtingido) {
+                sb.append(sep).append("(limite de divisoes atingido: lista pode estar incompleta)");
+            }
+            return sb.toString();
+        } catch (RuntimeException ex) {
+            return "ERRO " + ex.getMessage();
+        }
+    }
+
+    // Isolamento intervalar: raizes multiplas e proximas, sem passo fixo
+    private static String isolarRaizes(String func, double tol, double inicio, double fim) {
+        if (!(tol > 0)) {
+            return "ERRO tolerancia deve ser > 0";
+        }
+        if (!(fim > inicio)) {
+            return "ERRO intervalo invalido: inicio deve ser menor que fim";
+        }
+        try {
+            IsoladorIntervalar isolador = new IsoladorIntervalar(CacheExpr.global().obter(func));
+            StringBuilder sb = new StringBuilder("RAIZES");
+            String sep = " ";
+            for (ResultadoRaiz r : isolador.raizes(inicio, fim, tol, 1000)) {
+                sb.append(sep).append(r);
+                sep = " | ";
+            }
+            if (isolador.isLimiteAtingido()) {
+                sb.append(sep).append("(limite de caixas atingido: lista pode estar incompleta)");
+            }
+            return sb.toString();
+        } catch (RuntimeException ex) {
+            return "ERRO " + ex.getMessage();
+        }
+    }
+
+    private static String integrar(String func, double tol, double a, double b) {
+        if (!(tol > 0)) {
+            return "ERRO tolerancia deve ser > 0";
+        }
+        try {
+            // As threads do lote ja ocupam os nucleos: cada integral roda inteira nesta thread
+            IntegradorAdaptativo.ResultadoIntegral r = IntegradorAdaptativo.integrar(
+                    CacheExpr.global().obter(func), a, b, tol, tol,
+                    IntegradorAdaptativo.MAX_SUBINTERVALOS_PADRAO, null);
+            if (!r.convergiu) {
+                return "ERRO tolerancia nao atingida (" + r + ")";
+            }
+            return "INTEGRAL " + r.valor + " " + r.erroEstimado;
+        } catch (RuntimeException ex) {
+            return "ERRO " + ex.getMessage();
+        }
+    }
+}
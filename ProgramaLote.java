@@ -0,0 +1,136 @@
+package backend;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Avaliacao em lote de uma expressao (ver BisseccaoSwing.Expr.evalMany).
+ *
+ * Os nos do DAG viram uma lista de instrucoes em ordem topologica; cada
+ * instrucao calcula um bloco inteiro de pontos num registro (double[]) com
+ * um laco simples, que o JIT consegue vetorizar (SIMD) nas operacoes
+ * aritmeticas. Nos compartilhados sao calculados uma unica vez por bloco, e
+ * um registro e reaproveitado assim que o seu ultimo leitor executa.
+ */
+final class ProgramaLote {
+
+    private final NoExpr[] instrucoes;
+    private final int[] destino, regA, regB;
+    private final int registros;
+
+    ProgramaLote(NoExpr raiz) {
+        List<NoExpr> ordem = new ArrayList<>();
+        Map<NoExpr, Integer> indice = new IdentityHashMap<>();
+        ordenar(raiz, ordem, indice);
+
+        int m = ordem.size();
+        instrucoes = ordem.toArray(new NoExpr[0]);
+        destino = new int[m];
+        regA = new int[m];
+        regB = new int[m];
+
+        // Ultima instrucao que le cada no
+        int[] ultimoUso = new int[m];
+        Arrays.fill(ultimoUso, -1);
+        for (int i = 0; i < m; i++) {
+            NoExpr[] ops = operandos(instrucoes[i]);
+            for (NoExpr op : ops) ultimoUso[indice.get(op)] = i;
+        }
+        ultimoUso[m - 1] = m; // resultado
+
+        // Alocacao de registros com reuso (pilha de livres)
+        int[] livres = new int[m];
+        int nLivres = 0, total = 0;
+        for (int i = 0; i < m; i++) {
+            NoExpr[] ops = operandos(instrucoes[i]);
+            if (ops.length > 0) regA[i] = destino[indice.get(ops[0])];
+            if (ops.length > 1) regB[i] = destino[indice.get(ops[1])];
+            // operandos lidos pela ultima vez liberam o registro; como cada
+            // instrucao le e escreve a mesma posicao i, o destino pode reusa-lo
+            for (int k = 0; k < ops.length; k++) {
+                int j = indice.get(ops[k]);
+                if (ultimoUso[j] == i && (k == 0 || ops[0] != ops[k])) livres[nLivres++] = destino[j];
+            }
+            destino[i] = nLivres > 0 ? livres[--nLivres] : total++;
+        }
+        registros = total;
+    }
+
+    // Pos-ordem sem repetir nos compartilhados
+    private static void ordenar(NoExpr no, List<NoExpr> ordem, Map<NoExpr, Integer> indice) {
+        if (indice.containsKey(no)) return;
+        for (NoExpr op : operandos(no)) ordenar(op, ordem, indice);
+        indice.put(no, ordem.size());
+        ordem.add(no);
+    }
+
+    private static NoExpr[] operandos(NoExpr no) {
+        if (no instanceof NoExpr.Neg) return new NoExpr[] {((NoExpr.Neg) no).a};
+        if (no instanceof NoExpr.Func) return new NoExpr[] {((NoExpr.Func) no).a};
+        if (no instanceof NoExpr.PotInt) return new NoExpr[] {((NoExpr.PotInt) no).a};
+        if (no instanceof NoExpr.Bin) return new NoExpr[] {((NoExpr.Bin) no).a, ((NoExpr.Bin) no).b};
+        return new NoExpr[0];
+    }
+
+    // Numero de registros (blocos) que executar precisa
+    int registros() {
+        return registros;
+    }
+
+    // Registro com o resultado depois de executar
+    int resultado() {
+        return destino[destino.length - 1];
+    }
+
+    /**
+     * Calcula f(xs[ini + i]) para i = 0..n-1 no registro resultado().
+     * @param regs registros() blocos de tamanho >= n
+     */
+    void executar(double[] xs, int ini, int n, double[][] regs) {
+        for (int k = 0; k < instrucoes.length; k++) {
+            NoExpr no = instrucoes[k];
+            double[] d = regs[destino[k]];
+            if (no instanceof NoExpr.Const) {
+                Arrays.fill(d, 0, n, ((NoExpr.Const) no).valor);
+            } else if (no instanceof NoExpr.Var) {
+                System.arraycopy(xs, ini, d, 0, n);
+            } else if (no instanceof NoExpr.Neg) {
+                double[] a = regs[regA[k]];
+                for (int i = 0; i < n; i++) d[i] = -a[i];
+            } else if (no instanceof NoExpr.Func) {
+                ((NoExpr.Func) no).f.aplicarLote(regs[regA[k]], d, n);
+            } else if (no instanceof NoExpr.PotInt) {
+                potencia(regs[regA[k]], ((NoExpr.PotInt) no).n, d, n);
+            } else {
+                binaria(((NoExpr.Bin) no).op, regs[regA[k]], regs[regB[k]], d, n);
+            }
+        }
+    }
+
+    // Um laco por operador (sem switch dentro do laco)
+    private static void binaria(char op, double[] a, double[] b, double[] d, int n) {
+        switch (op) {
+            case '+': for (int i = 0; i < n; i++) d[i] = a[i] + b[i]; break;
+            case '-': for (int i = 0; i < n; i++) d[i] = a[i] - b[i]; break;
+            case '*': for (int i = 0; i < n; i++) d[i] = a[i] * b[i]; break;
+            case '/': for (int i = 0; i < n; i++) d[i] = a[i] / b[i]; break;
+            default:  for (int i = 0; i < n; i++) d[i] = Math.pow(a[i], b[i]);
+        }
+    }
+
+    private static void potencia(double[] a, int p, double[] d, int n) {
+        if (p == 2) {
+            for (int i = 0; i < n; i++) d[i] = a[i] * a[i];
+        } else if (p == 3) {
+            for (int i = 0; i < n; i++) {
+                double v = a[i];
+                d[i] = v * (v * v);
+            }
+        } else {
+            for (int i = 0; i < n; i++) d[i] = NoExpr.PotInt.potInt(a[i], p);
+        }
+    }
+}
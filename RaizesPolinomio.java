@@ -0,0 +1,390 @@
+package backend;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.DoubleUnaryOperator;
+
+/**
+ * Todas as raizes reais de um polinomio, sem varredura.
+ *
+ * Com os coeficientes (ver Expr.polinomio) nao e preciso escolher um
+ * intervalo: toda raiz real fica dentro da cota de Cauchy
+ * R = 1 + max |c_i / c_d|. A sequencia de Sturm p0 = p, p1 = p',
+ * p_{k+1} = -resto(p_{k-1}, p_k) da, pelo numero de trocas de sinal V(x),
+ * quantas raizes distintas ha em (a, b]: V(a) - V(b). O intervalo e dividido
+ * ao meio ate cada pedaco conter uma raiz so; se ha troca de sinal nas
+ * pontas ela e refinada pelo MetodoRaiz escolhido e polida com alguns passos
+ * de Newton, senao e uma raiz de multiplicidade par: as contagens a localizam
+ * e ela e refinada como extremo de f (troca de sinal de f'), como em
+ * IsoladorIntervalar.
+ *
+ * Perto de uma raiz de multiplicidade m, p por Horner nos coeficientes
+ * expandidos so vale zero com erro de arredondamento: a raiz vira um
+ * aglomerado de largura ~ eps^(1/m) (1e-4 para (x-3)^4). Por isso, se a
+ * expressao original e dada, o refinamento e feito nela e na sua derivada
+ * simbolica; os coeficientes ficam so para as contagens.
+ *
+ * A sequencia e calculada em ponto flutuante: restos com coeficientes
+ * abaixo de ZERO_RESTO (relativo) contam como zero, o que junta raizes mais
+ * proximas que isso numa raiz multipla. Foi preferida aos autovalores da
+ * matriz companheira por dar so as raizes reais, com contagem garantida por
+ * intervalo, e sem depender de uma rotina de autovalores.
+ *
+ * Com um ControleBusca a busca pode ser cancelada ou limitada, como em
+ * VarreduraRaizes. Uma instancia faz uma busca por vez.
+ */
+public class RaizesPolinomio {
+
+    // Coeficiente de resto abaixo disto (relativo ao maior) conta como zero
+    private static final double ZERO_RESTO = 1e-11;
+
+    // Passos de Newton depois do MetodoRaiz
+    private static final int PASSOS_POLIMENTO = 3;
+
+    private final double[] p, dp;   // c[k] multiplica x^k
+    private final double[][] sturm;
+    private final MetodoRaiz metodo;
+    private final DoubleUnaryOperator f, df;      // p e p' por Horner: contagens e divisoes
+    private final BisseccaoSwing.Expr expr;       // null: refinamento tambem por Horner
+    private final DoubleUnaryOperator fRefino, dfRefino;
+    private int avaliacoes;
+    private ControleBusca controle;
+
+    RaizesPolinomio(double[] coef) {
+        this(coef, new NewtonBisseccao());
+    }
+
+    /**
+     * @param coef coeficientes, c[k] multiplica x^k (como em Expr.polinomio)
+     * @param metodo refinamento das raizes com troca de sinal
+     * @throws IllegalArgumentException se todos os coeficientes forem zero
+     */
+    RaizesPolinomio(double[] coef, MetodoRaiz metodo) {
+        this(coef, metodo, null);
+    }
+
+    /**
+     * @param coef coeficientes de expr (Expr.polinomio)
+     * @param expr a mesma funcao sem expandir, usada no refinamento; null: Horner nos coeficientes
+     */
+    RaizesPolinomio(double[] coef, MetodoRaiz metodo, BisseccaoSwing.Expr expr) {
+        int d = grau(coef);
+        if (d < 0) {
+            throw new IllegalArgumentException("Polinomio nulo: todo x e raiz.");
+        }
+        this.p = new double[d + 1];
+        System.arraycopy(coef, 0, p, 0, d + 1);
+        this.dp = derivada(p);
+        this.sturm = sequenciaSturm(p, dp);
+        this.metodo = metodo;
+        this.f = x -> {
+            contar(1);
+            return horner(p, x);
+        };
+        this.df = x -> {
+            contar(1);
+            return horner(dp, x);
+        };
+        this.expr = expr;
+        if (expr == null) {
+            this.fRefino = f;
+            this.dfRefino = df;
+        } else {
+            this.fRefino = contando(expr.compilar());
+            this.dfRefino = contando(expr.derivada().compilar());
+        }
+    }
+
+    private DoubleUnaryOperator contando(DoubleUnaryOperator g) {
+        return x -> {
+            contar(1);
+            return g.applyAsDouble(x);
+        };
+    }
+
+    // true se coef e um polinomio de grau >= 1 (com raizes a procurar) e coeficientes finitos
+    static boolean aceita(double[] coef) {
+        if (coef == null || grau(coef) < 1) return false;
+        for (double c : coef) {
+            if (!Double.isFinite(c)) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Todas as raizes reais, em ordem crescente.
+     * @param tol tolerancia do refinamento (e largura minima dos intervalos)
+     */
+    List<ResultadoRaiz> raizes(double tol, int iterMax) {
+        return raizes(tol, iterMax, null);
+    }
+
+    // Todas as raizes reais; controle: cancelamento e limites (null: sem)
+    List<ResultadoRaiz> raizes(double tol, int iterMax, ControleBusca controle) {
+        double r = cotaCauchy();
+        return raizes(-r, r, tol, iterMax, controle);
+    }
+
+    // Raizes reais em [inicio, fim], em ordem crescente
+    List<ResultadoRaiz> raizes(double inicio, double fim, double tol, int iterMax) {
+        return raizes(inicio, fim, tol, iterMax, null);
+    }
+
+    List<ResultadoRaiz> raizes(double inicio, double fim, double tol, int iterMax, ControleBusca controle) {
+        this.controle = controle;
+        avaliacoes = 0;
+        if (controle != null) controle.iniciar(fim - inicio);
+        List<ResultadoRaiz> raizes = new ArrayList<>();
+        if (p.length == 1) return raizes;
+        double pInicio = f.applyAsDouble(inicio);
+        if (pInicio == 0.0) anotar(exata(inicio), raizes);
+        examinar(inicio, variacoes(inicio), fim, variacoes(fim), tol, iterMax, raizes);
+        return raizes;
+    }
+
+    // Raizes em (a, b], da esquerda para a direita; p(a) != 0
+    private void examinar(double a, int va, double b, int vb, double tol, int iterMax,
+                          List<ResultadoRaiz> raizes) {
+        if (controle != null && controle.parar()) return;
+        int n = va - vb;
+        double m = 0.5 * (a + b);
+        boolean folha = b - a <= tol || !(m > a && m < b);
+        if (n <= 0 || n == 1 || folha) {
+            if (n > 0) {
+                double pa = f.applyAsDouble(a);
+                double pb = f.applyAsDouble(b);
+                if (pb == 0.0) {
+                    anotar(exata(b), raizes);
+                } else if (pa * pb < 0) {
+                    anotar(refinar(a, pa, b, pb, tol, iterMax), raizes);
+                } else if (folha) {
+                    // aglomerado de raizes mais proximas que tol
+                    anotar(new ResultadoRaiz(m, f.applyAsDouble(m), a, b, 0, 0, true), raizes);
+                } else {
+                    anotar(multiplicidadePar(a, va, b, vb, tol, iterMax), raizes);
+                }
+            }
+            if (controle != null) controle.cobriu(b - a);
+            return;
+        }
+        // o ponto de divisao nao pode ser raiz (a contagem e em (a, b])
+        double desvio = 0.0;
+        while (f.applyAsDouble(m + desvio) == 0.0) {
+            desvio = desvio == 0.0 ? 1e-3 * (b - a) : -2.0 * desvio;
+        }
+        m += desvio;
+        int vm = variacoes(m);
+        examinar(a, va, m, vm, tol, iterMax, raizes);
+        examinar(m, vm, b, vb, tol, iterMax, raizes);
+    }
+
+    // Raiz de p com troca de sinal em [a, b]: MetodoRaiz e depois Newton
+    private ResultadoRaiz refinar(double a, double pa, double b, double pb, double tol, int iterMax) {
+        long inicio = System.nanoTime();
+        if (expr != null) {
+            // na funcao original; a troca de sinal por Horner pode ser so arredondamento
+            double fa = fRefino.applyAsDouble(a), fb = fRefino.applyAsDouble(b);
+            if (fa == 0.0) return exata(a);
+            if (fb == 0.0) return exata(b);
+            if (fa * fb < 0) {
+                pa = fa;
+                pb = fb;
+            }
+        }
+        ResultadoRaiz r = metodo.resolver(fRefino, dfRefino, a, b, pa, pb, tol, iterMax);
+        double x = r.raiz, px = r.fx;
+        int passos = 0;
+        for (int i = 0; i < PASSOS_POLIMENTO && px != 0.0; i++) {
+            double dpx = dfRefino.applyAsDouble(x);
+            double xn = x - px / dpx;
+            if (!(xn >= a && xn <= b)) break;
+            double pn = fRefino.applyAsDouble(xn);
+            passos++;
+            if (!(Math.abs(pn) < Math.abs(px))) break;
+            x = xn;
+            px = pn;
+        }
+        return new ResultadoRaiz(x, px, r.a, r.b, r.iteracoes + passos, r.avaliacoes + 2 * passos,
+                r.convergiu, System.nanoTime() - inicio);
+    }
+
+    // Uma raiz sem troca de sinal em (a, b]: bisseccao pelas contagens de Sturm
+    // ate perto da raiz, depois o extremo de f mais proximo (f' troca de sinal)
+    private ResultadoRaiz multiplicidadePar(double a, int va, double b, int vb, double tol, int iterMax) {
+        long inicio = System.nanoTime();
+        int avaliacoesAntes = avaliacoes;
+        double a0 = a, b0 = b;
+        int iter = 0;
+        double m = 0.5 * (a + b);
+        double centro = Double.NaN;
+        while (b - a > tol && m > a && m < b && iter < iterMax) {
+            if (f.applyAsDouble(m) == 0.0) {
+                // dentro do aglomerado de arredondamento: as contagens nao valem mais
+                centro = m;
+                break;
+            }
+            int vm = variacoes(m);
+            if (va - vm == 1) {
+                b = m;
+                vb = vm;
+            } else {
+                a = m;
+                va = vm;
+            }
+            m = 0.5 * (a + b);
+            iter++;
+        }
+        if (Double.isNaN(centro)) centro = 0.5 * (a + b);
+
+        // menor intervalo em volta do centro, dentro de (a0, b0], com troca de sinal de f'
+        double w = Math.max(tol, Math.ulp(centro));
+        double lo, hi, dlo, dhi;
+        while (true) {
+            lo = Math.max(a0, centro - w);
+            hi = Math.min(b0, centro + w);
+            dlo = dfRefino.applyAsDouble(lo);
+            dhi = dfRefino.applyAsDouble(hi);
+            if (dlo * dhi <= 0 || (lo == a0 && hi == b0)) break;
+            w *= 2;
+        }
+        double x;
+        boolean convergiu;
+        if (dlo * dhi < 0) {
+            // bisseccao pelo sinal de f': |f'| <= tol nao serve de criterio, f' tambem
+            // se anula com multiplicidade perto de uma raiz multipla
+            int passos = 0;
+            x = 0.5 * (lo + hi);
+            while (hi - lo > tol && x > lo && x < hi && passos < iterMax) {
+                double dx = dfRefino.applyAsDouble(x);
+                if (dx == 0.0) {
+                    lo = x;
+                    hi = x;
+                    break;
+                }
+                if ((dx < 0) == (dlo < 0)) {
+                    lo = x;
+                } else {
+                    hi = x;
+                }
+                x = 0.5 * (lo + hi);
+                passos++;
+            }
+            iter += passos;
+            convergiu = passos < iterMax;
+        } else if (dlo == 0.0 || dhi == 0.0) {
+            x = dlo == 0.0 ? lo : hi;
+            convergiu = true;
+        } else {
+            x = centro;
+            convergiu = false;
+        }
+        double fx = fRefino.applyAsDouble(x);
+        // um extremo que nao toca o zero nao e raiz (raizes proximas juntadas por ZERO_RESTO)
+        return new ResultadoRaiz(x, fx, lo, hi, iter, avaliacoes - avaliacoesAntes,
+                convergiu && Math.abs(fx) <= tol, System.nanoTime() - inicio);
+    }
+
+    private void anotar(ResultadoRaiz r, List<ResultadoRaiz> raizes) {
+        raizes.add(r);
+        if (controle != null) controle.achou(r);
+    }
+
+    private void contar(int n) {
+        avaliacoes += n;
+        if (controle != null) controle.avaliou(n);
+    }
+
+    private ResultadoRaiz exata(double x) {
+        return new ResultadoRaiz(x, 0.0, x, x, 0, 0, true);
+    }
+
+    // Trocas de sinal da sequencia de Sturm em x (zeros sao ignorados)
+    private int variacoes(double x) {
+        int trocas = 0;
+        double anterior = 0.0;
+        for (double[] s : sturm) {
+            double v = horner(s, x);
+            if (v == 0.0) continue;
+            if (anterior != 0.0 && (v < 0) != (anterior < 0)) trocas++;
+            anterior = v;
+        }
+        contar(sturm.length);
+        return trocas;
+    }
+
+    // 1 + max |c_i / c_d|: toda raiz real tem |x| < R
+    private double cotaCauchy() {
+        int d = p.length - 1;
+        double max = 0.0;
+        for (int i = 0; i < d; i++) max = Math.max(max, Math.abs(p[i] / p[d]));
+        return 1.0 + max;
+    }
+
+    private static double[][] sequenciaSturm(double[] p, double[] dp) {
+        List<double[]> seq = new ArrayList<>();
+        seq.add(normalizar(p));
+        if (dp.length > 0) seq.add(normalizar(dp));
+        while (seq.size() >= 2 && seq.get(seq.size() - 1).length > 1) {
+            double[] r = resto(seq.get(seq.size() - 2), seq.get(seq.size() - 1));
+            if (r.length == 0) break;
+            for (int i = 0; i < r.length; i++) r[i] = -r[i];
+            seq.add(normalizar(r));
+        }
+        return seq.toArray(new double[0][]);
+    }
+
+    // Resto de u / v, com os coeficientes desprezaveis zerados e cortados
+    private static double[] resto(double[] u, double[] v) {
+        double[] r = u.clone();
+        int dv = v.length - 1;
+        double escala = maxAbs(u);
+        for (int k = u.length - 1 - dv; k >= 0; k--) {
+            double q = r[dv + k] / v[dv];
+            escala = Math.max(escala, Math.abs(q) * maxAbs(v));
+            for (int j = 0; j <= dv; j++) r[j + k] -= q * v[j];
+        }
+        double[] c = new double[dv];
+        for (int j = 0; j < dv; j++) c[j] = Math.abs(r[j]) <= ZERO_RESTO * escala ? 0.0 : r[j];
+        double[] t = new double[grau(c) + 1];
+        System.arraycopy(c, 0, t, 0, t.length);
+        return t;
+    }
+
+    // Divide pelo maior |coeficiente| (nao muda os sinais)
+    private static double[] normalizar(double[] c) {
+        double m = maxAbs(c);
+        double[] n = new double[c.length];
+        for (int i = 0; i < c.length; i++) n[i] = c[i] / m;
+        return n;
+    }
+
+    private static double maxAbs(double[] c) {
+        double m = 0.0;
+        for (double v : c) m = Math.max(m, Math.abs(v));
+        return m;
+    }
+
+    private static double[] derivada(double[] c) {
+        double[] d = new double[c.length - 1];
+        for (int k = 1; k < c.length; k++) d[k - 1] = k * c[k];
+        return d;
+    }
+
+    // Maior k com c[k] != 0; -1 para o polinomio nulo
+    private static int grau(double[] c) {
+        int d = c.length - 1;
+        while (d >= 0 && c[d] == 0.0) d--;
+        return d;
+    }
+
+    private static double horner(double[] c, double x) {
+        double s = 0.0;
+        for (int k = c.length - 1; k >= 0; k--) s = s * x + c[k];
+        return s;
+    }
+
+    // Avaliacoes de p, p' e da sequencia de Sturm na ultima busca
+    public int getAvaliacoes() {
+        return avaliacoes;
+    }
+}
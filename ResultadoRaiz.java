@@ -0,0 +1,66 @@
+package backend;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Resultado do refinamento de uma raiz dentro de um intervalo [a, b].
+ */
+public class ResultadoRaiz {
+    public final double raiz;        // aproximacao final
+    public final double fx;          // f(raiz)
+    public final double a, b;        // intervalo final que contem a raiz
+    public final int iteracoes;      // passos executados
+    public final int avaliacoes;     // avaliacoes de f e de f' (cada uma conta 1)
+    public final boolean convergiu;  // false se parou por iterMax ou valor invalido
+    public final long nanos;         // tempo do refinamento (0 se nao medido)
+
+    ResultadoRaiz(double raiz, double fx, double a, double b, int iteracoes, int avaliacoes, boolean convergiu) {
+        this(raiz, fx, a, b, iteracoes, avaliacoes, convergiu, 0L);
+    }
+
+    ResultadoRaiz(double raiz, double fx, double a, double b, int iteracoes, int avaliacoes,
+                  boolean convergiu, long nanos) {
+        this.raiz = raiz;
+        this.fx = fx;
+        this.a = a;
+        this.b = b;
+        this.iteracoes = iteracoes;
+        this.avaliacoes = avaliacoes;
+        this.convergiu = convergiu;
+        this.nanos = nanos;
+    }
+
+    // Copia com o tempo de refinamento anotado (MetodoRaiz.resolverMedindo)
+    ResultadoRaiz comTempo(long nanos) {
+        return new ResultadoRaiz(raiz, fx, a, b, iteracoes, avaliacoes, convergiu, nanos);
+    }
+
+    // De varias aproximacoes da mesma raiz, a de menor |f|; no empate, a do meio
+    static ResultadoRaiz menorResiduo(List<ResultadoRaiz> grupo) {
+        double min = Double.POSITIVE_INFINITY;
+        for (ResultadoRaiz r : grupo) min = Math.min(min, Math.abs(r.fx));
+        List<ResultadoRaiz> empatadas = new ArrayList<>();
+        for (ResultadoRaiz r : grupo) {
+            if (Math.abs(r.fx) == min) empatadas.add(r);
+        }
+        return empatadas.isEmpty() ? grupo.get(grupo.size() / 2) : empatadas.get(empatadas.size() / 2);
+    }
+
+    @Override
+    public String toString() {
+        if (a == b) {
+            // achada num ponto da varredura, sem refinamento
+            return String.format("Raiz exata: x = %.10f", raiz);
+        }
+        return String.format("Intervalo: [%.8f, %.8f]  Raiz ~ %.10f  (iter: %d, aval: %d)",
+                a, b, raiz, iteracoes, avaliacoes);
+    }
+
+    // toString com o tempo de refinamento, para comparar metodos nas interfaces
+    public String toStringComTempo() {
+        if (a == b) return toString();
+        return String.format("Intervalo: [%.8f, %.8f]  Raiz ~ %.10f  (iter: %d, aval: %d, %.1f us)",
+                a, b, raiz, iteracoes, avaliacoes, nanos / 1e3);
+    }
+}
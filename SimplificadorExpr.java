@@ -0,0 +1,387 @@
+package backend;
+
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * Simplificacao algebrica da arvore de uma expressao (NoExpr), feita uma vez
+ * apos a analise:
+ * - dobra de constantes: (3+4) -> 7, 2*pi -> 6.283..., sin(0) -> 0
+ * - identidades: e+0, e-0, e*1, e/1, e^1 -> e;  e^0 -> 1;  --e -> e;
+ *   0*e -> 0 apenas se e estiver definida para todo x (sem /, log, sqrt, tan...)
+ * - reducao de forca: e^n com n inteiro (|n| <= 64) vira PotInt, calculada
+ *   por multiplicacoes em vez de Math.pow
+ * - forma de Horner: somas de monomios em x, como x^3+8*x^2-4*x-2, viram
+ *   ((x+8)*x-4)*x-2
+ * - subexpressoes comuns: nos iguais sao criados uma unica vez (hash-consing),
+ *   e os avaliadores compilado e em lote calculam cada no compartilhado so uma vez
+ *
+ * Dobras e identidades dao o mesmo resultado em ponto flutuante; PotInt e
+ * Horner podem diferir de Math.pow e da forma original nos ultimos bits.
+ */
+final class SimplificadorExpr {
+
+    private static final int EXPOENTE_MAX = 64;
+    private static final int GRAU_MAX_HORNER = 64;
+
+    // Nos unicos por estrutura (filhos identificados pelo id do no unico)
+    private final Map<String, NoExpr> unicos = new HashMap<>();
+    private final Map<NoExpr, Integer> ids = new IdentityHashMap<>();
+    // Resultado de cada no ja visitado (a entrada pode ser um DAG, ex.: derivadas)
+    private final Map<NoExpr, NoExpr> visitados = new IdentityHashMap<>();
+
+    private SimplificadorExpr() {
+    }
+
+    static NoExpr simplificar(NoExpr raiz) {
+        return new SimplificadorExpr().simp(raiz);
+    }
+
+    private NoExpr simp(NoExpr no) {
+        NoExpr r = visitados.get(no);
+        if (r == null) {
+            r = regras(no);
+            visitados.put(no, r);
+        }
+        return r;
+    }
+
+    private NoExpr regras(NoExpr no) {
+        if (no instanceof NoExpr.Const) return constante(((NoExpr.Const) no).valor);
+        if (no instanceof NoExpr.Var) return unico("V" + ((NoExpr.Var) no).indice, no);
+        if (no instanceof NoExpr.Neg) return neg(simp(((NoExpr.Neg) no).a));
+        if (no instanceof NoExpr.Func) {
+            NoExpr.Func f = (NoExpr.Func) no;
+            return func(f.f, simp(f.a));
+        }
+        if (no instanceof NoExpr.PotInt) {
+            NoExpr.PotInt p = (NoExpr.PotInt) no;
+            return potencia(simp(p.a), p.n);
+        }
+        NoExpr.Bin b = (NoExpr.Bin) no;
+        if (b.op == '+' || b.op == '-') {
+            // No topo de uma soma: tenta reescrever o polinomio inteiro
+            double[] c = coeficientesPolinomio(b);
+            if (c != null && compensaHorner(c)) return horner(c);
+        }
+        return bin(b.op, simp(b.a), simp(b.b));
+    }
+
+    // ------------------------------------------------------------------
+    // Construtores com as regras de simplificacao
+    // ------------------------------------------------------------------
+
+    private NoExpr constante(double v) {
+        return unico("C" + Double.doubleToRawLongBits(v), new NoExpr.Const(v));
+    }
+
+    private NoExpr neg(NoExpr a) {
+        if (a instanceof NoExpr.Const) return constante(-((NoExpr.Const) a).valor);
+        if (a instanceof NoExpr.Neg) return ((NoExpr.Neg) a).a;
+        return unico("N" + id(a), new NoExpr.Neg(a));
+    }
+
+    private NoExpr func(NoExpr.Funcao f, NoExpr a) {
+        if (a instanceof NoExpr.Const) return constante(f.aplicar(((NoExpr.Const) a).valor));
+        return unico("F" + f.ordinal() + ":" + id(a), new NoExpr.Func(f, a));
+    }
+
+    private NoExpr potencia(NoExpr a, int n) {
+        if (a instanceof NoExpr.Const) return constante(Math.pow(((NoExpr.Const) a).valor, n));
+        if (n == 0) return constante(1.0);
+        if (n == 1) return a;
+        return unico("P" + n + ":" + id(a), new NoExpr.PotInt(a, n));
+    }
+
+    private NoExpr bin(char op, NoExpr a, NoExpr b) {
+        boolean ca = a instanceof NoExpr.Const, cb = b instanceof NoExpr.Const;
+        if (ca && cb) {
+            return constante(NoExpr.Bin.aplicar(op, ((NoExpr.Const) a).valor, ((NoExpr.Const) b).valor));
+        }
+        double va = ca ? ((NoExpr.Const) a).valor : Double.NaN;
+        double vb = cb ? ((NoExpr.Const) b).valor : Double.NaN;
+        switch (op) {
+            case '+':
+                if (vb == 0.0) return a;
+                if (va == 0.0) return b;
+                if (b instanceof NoExpr.Neg) return bin('-', a, ((NoExpr.Neg) b).a);
+                break;
+            case '-':
+                if (vb == 0.0) return a;
+                if (va == 0.0) return neg(b);
+                if (b instanceof NoExpr.Neg) return bin('+', a, ((NoExpr.Neg) b).a);
+                break;
+            case '*':
+                if (va == 1.0) return b;
+                if (vb == 1.0) return a;
+                if (va == -1.0) return neg(b);
+                if (vb == -1.0) return neg(a);
+                if (va == 0.0 && total(b)) return a;
+                if (vb == 0.0 && total(a)) return b;
+                break;
+            case '/':
+                if (vb == 1.0) return a;
+                if (vb == -1.0) return neg(a);
+                break;
+            default: // '^'
+                if (cb && vb == Math.rint(vb) && Math.abs(vb) <= EXPOENTE_MAX) {
+                    return potencia(a, (int) vb);
+                }
+        }
+        return unico("B" + op + id(a) + "," + id(b), new NoExpr.Bin(op, a, b));
+    }
+
+    // true se o no esta definido para todo x real (overflow desconsiderado)
+    private static boolean total(NoExpr no) {
+        if (no instanceof NoExpr.Const || no instanceof NoExpr.Var) return true;
+        if (no instanceof NoExpr.Neg) return total(((NoExpr.Neg) no).a);
+        if (no instanceof NoExpr.PotInt) {
+            NoExpr.PotInt p = (NoExpr.PotInt) no;
+            return p.n > 0 && total(p.a);
+        }
+        if (no instanceof NoExpr.Func) {
+            NoExpr.Func f = (NoExpr.Func) no;
+            return f.f.total() && total(f.a);
+        }
+        NoExpr.Bin b = (NoExpr.Bin) no;
+        return (b.op == '+' || b.op == '-' || b.op == '*') && total(b.a) && total(b.b);
+    }
+
+    private NoExpr unico(String chave, NoExpr novo) {
+        NoExpr existente = unicos.get(chave);
+        if (existente != null) return existente;
+        unicos.put(chave, novo);
+        ids.put(novo, ids.size());
+        return novo;
+    }
+
+    private int id(NoExpr no) {
+        return ids.get(no);
+    }
+
+    // ------------------------------------------------------------------
+    // Polinomios e forma de Horner
+    // ------------------------------------------------------------------
+
+    /**
+     * Coeficientes c[0..d] se o no for uma soma (+, -) de monomios c*x^k;
+     * null caso contrario. Produtos de somas, como (x-2)(x+3), nao sao
+     * expandidos: a forma fatorada costuma ser mais precisa perto das raizes.
+     */
+    static double[] coeficientesPolinomio(NoExpr no) {
+        if (no instanceof NoExpr.Neg) {
+            double[] c = coeficientesPolinomio(((NoExpr.Neg) no).a);
+            if (c == null) return null;
+            for (int i = 0; i < c.length; i++) c[i] = -c[i];
+            return c;
+        }
+        if (no instanceof NoExpr.Bin) {
+            NoExpr.Bin b = (NoExpr.Bin) no;
+            if (b.op == '+' || b.op == '-') {
+                double[] ca = coeficientesPolinomio(b.a);
+                double[] cb = ca == null ? null : coeficientesPolinomio(b.b);
+                if (cb == null) return null;
+                double[] c = new double[Math.max(ca.length, cb.length)];
+                for (int i = 0; i < ca.length; i++) c[i] = ca[i];
+                for (int i = 0; i < cb.length; i++) {
+                    c[i] = (b.op == '+') ? c[i] + cb[i] : c[i] - cb[i];
+                }
+                return c;
+            }
+        }
+        return monomio(no);
+    }
+
+    // Coeficientes de um monomio c*x^k (um unico termo nao nulo) ou null
+    private static double[] monomio(NoExpr no) {
+        if (!contemVariavel(no)) return new double[] {no.eval(0.0)};
+        // so polinomios na variavel x de uma expressao de uma variavel
+        if (no instanceof NoExpr.Var) return no == NoExpr.Var.X ? new double[] {0.0, 1.0} : null;
+        if (no instanceof NoExpr.Neg) {
+            double[] m = monomio(((NoExpr.Neg) no).a);
+            if (m != null) m[m.length - 1] = -m[m.length - 1];
+            return m;
+        }
+        NoExpr base;
+        double expoente;
+        if (no instanceof NoExpr.PotInt) {
+            base = ((NoExpr.PotInt) no).a;
+            expoente = ((NoExpr.PotInt) no).n;
+        } else if (no instanceof NoExpr.Bin) {
+            NoExpr.Bin b = (NoExpr.Bin) no;
+            if (b.op == '*') {
+                double[] ma = monomio(b.a);
+                double[] mb = ma == null ? null : monomio(b.b);
+                if (mb == null) return null;
+                int grau = ma.length + mb.length - 2;
+                if (grau > GRAU_MAX_HORNER) return null;
+                double[] m = new double[grau + 1];
+                m[grau] = ma[ma.length - 1] * mb[mb.length - 1];
+                return m;
+            }
+            if (b.op == '/') {
+                if (contemVariavel(b.b)) return null;
+                double[] m = monomio(b.a);
+                if (m != null) m[m.length - 1] /= b.b.eval(0.0);
+                return m;
+            }
+            if (b.op != '^' || contemVariavel(b.b)) return null;
+            base = b.a;
+            expoente = b.b.eval(0.0);
+        } else {
+            return null;
+        }
+        if (expoente != Math.rint(expoente) || expoente < 0) return null;
+        double[] mb = monomio(base);
+        if (mb == null) return null;
+        long grau = (long) (mb.length - 1) * (long) expoente;
+        if (grau > GRAU_MAX_HORNER) return null;
+        double[] m = new double[(int) grau + 1];
+        m[(int) grau] = Math.pow(mb[mb.length - 1], expoente);
+        return m;
+    }
+
+    /**
+     * Coeficientes c[0..d] (c[k] multiplica x^k) se o no for um polinomio em
+     * x, expandindo produtos e potencias inteiras: (x-2)(x+3) -> {-6, 1, 1}.
+     * null se aparecer x fora de +, -, *, / por constante e ^ inteiro >= 0,
+     * se o grau passar de GRAU_MAX_HORNER ou se algum coeficiente nao for
+     * finito (divisao por zero, estouro): a busca de raizes volta entao para
+     * a varredura.
+     */
+    static double[] expandirPolinomio(NoExpr no) {
+        return expandir(no, new IdentityHashMap<>());
+    }
+
+    // vistos: resultado de cada no compartilhado (a arvore simplificada e um DAG)
+    private static double[] expandir(NoExpr no, Map<NoExpr, double[]> vistos) {
+        if (vistos.containsKey(no)) return vistos.get(no);
+        double[] c = expandirNo(no, vistos);
+        if (c != null && !finitos(c)) c = null;
+        vistos.put(no, c);
+        return c;
+    }
+
+    private static boolean finitos(double[] c) {
+        for (double v : c) {
+            if (!Double.isFinite(v)) return false;
+        }
+        return true;
+    }
+
+    private static double[] expandirNo(NoExpr no, Map<NoExpr, double[]> vistos) {
+        if (!contemVariavel(no)) {
+            double v = no.eval(0.0);
+            return Double.isFinite(v) ? new double[] {v} : null;
+        }
+        if (no instanceof NoExpr.Var) return no == NoExpr.Var.X ? new double[] {0.0, 1.0} : null;
+        if (no instanceof NoExpr.Neg) {
+            double[] a = expandir(((NoExpr.Neg) no).a, vistos);
+            if (a == null) return null;
+            double[] c = new double[a.length];
+            for (int i = 0; i < a.length; i++) c[i] = -a[i];
+            return c;
+        }
+        if (no instanceof NoExpr.PotInt) {
+            NoExpr.PotInt p = (NoExpr.PotInt) no;
+            return p.n < 0 ? null : potenciaPolinomio(expandir(p.a, vistos), p.n);
+        }
+        if (!(no instanceof NoExpr.Bin)) return null;
+        NoExpr.Bin b = (NoExpr.Bin) no;
+        if (b.op == '^') {
+            if (contemVariavel(b.b)) return null;
+            double n = b.b.eval(0.0);
+            if (n != Math.rint(n) || n < 0 || n > GRAU_MAX_HORNER) return null;
+            return potenciaPolinomio(expandir(b.a, vistos), (int) n);
+        }
+        double[] ca = expandir(b.a, vistos);
+        double[] cb = ca == null ? null : expandir(b.b, vistos);
+        if (cb == null) return null;
+        switch (b.op) {
+            case '+':
+            case '-': {
+                double[] c = new double[Math.max(ca.length, cb.length)];
+                for (int i = 0; i < ca.length; i++) c[i] = ca[i];
+                for (int i = 0; i < cb.length; i++) c[i] = b.op == '+' ? c[i] + cb[i] : c[i] - cb[i];
+                return c;
+            }
+            case '*':
+                return produtoPolinomios(ca, cb);
+            case '/': {
+                if (cb.length != 1) return null;
+                double[] c = new double[ca.length];
+                for (int i = 0; i < ca.length; i++) c[i] = ca[i] / cb[0];
+                return c;
+            }
+            default:
+                return null;
+        }
+    }
+
+    private static double[] produtoPolinomios(double[] a, double[] b) {
+        if (a.length + b.length - 2 > GRAU_MAX_HORNER) return null;
+        double[] c = new double[a.length + b.length - 1];
+        for (int i = 0; i < a.length; i++) {
+            if (a[i] == 0.0) continue;
+            for (int j = 0; j < b.length; j++) c[i + j] += a[i] * b[j];
+        }
+        return c;
+    }
+
+    // a^n por quadrados sucessivos
+    private static double[] potenciaPolinomio(double[] a, int n) {
+        if (a == null) return null;
+        double[] r = {1.0};
+        double[] base = a;
+        while (n > 0) {
+            if ((n & 1) == 1) r = produtoPolinomios(r, base);
+            n >>= 1;
+            if (n > 0 && r != null) base = produtoPolinomios(base, base);
+            if (r == null || base == null) return null;
+        }
+        return r;
+    }
+
+    private static boolean contemVariavel(NoExpr no) {
+        if (no instanceof NoExpr.Var) return true;
+        if (no instanceof NoExpr.Const) return false;
+        if (no instanceof NoExpr.Neg) return contemVariavel(((NoExpr.Neg) no).a);
+        if (no instanceof NoExpr.Func) return contemVariavel(((NoExpr.Func) no).a);
+        if (no instanceof NoExpr.PotInt) return contemVariavel(((NoExpr.PotInt) no).a);
+        NoExpr.Bin b = (NoExpr.Bin) no;
+        return contemVariavel(b.a) || contemVariavel(b.b);
+    }
+
+    // Horner so compensa se o polinomio nao for muito esparso (x^10 - 1 fica como esta)
+    private static boolean compensaHorner(double[] c) {
+        int grau = grau(c);
+        if (grau < 1) return grau == 0;
+        int termos = 0;
+        for (double v : c) {
+            if (!Double.isFinite(v)) return false;
+            if (v != 0.0) termos++;
+        }
+        return 2 * termos > grau;
+    }
+
+    private static int grau(double[] c) {
+        int d = c.length - 1;
+        while (d >= 0 && c[d] == 0.0) d--;
+        return d;
+    }
+
+    // c_d x^d + ... + c_0  ->  (...(c_d*x + c_{d-1})*x + ...)*x + c_0
+    private NoExpr horner(double[] c) {
+        int d = grau(c);
+        if (d < 0) return constante(0.0);
+        NoExpr x = unico("V0", NoExpr.Var.X);
+        NoExpr acc = constante(c[d]);
+        for (int k = d - 1; k >= 0; k--) {
+            acc = bin('*', acc, x);
+            if (c[k] > 0.0) acc = bin('+', acc, constante(c[k]));
+            else if (c[k] < 0.0) acc = bin('-', acc, constante(-c[k]));
+        }
+        return acc;
+    }
+}
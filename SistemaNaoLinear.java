@@ -0,0 +1,309 @@
+package backend;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Sistema de equacoes nao lineares F(x) = 0, com F: R^n -> R^n dada por n
+ * expressoes em n variaveis (ver ExprMulti).
+ *
+ * O jacobiano e simbolico: as derivadas parciais sao calculadas uma vez no
+ * construtor, e as que dao constante (ex.: termos lineares) nao sao
+ * reavaliadas a cada passo.
+ *
+ * Metodos:
+ * - newton: fatora J(x) (LUFactorization) a cada iteracao e resolve
+ *   J s = -F, com busca linear (passo reduzido a metade ate ||F|| cair)
+ * - broyden: quasi-Newton "bom" de Broyden. Fatora J uma vez e aplica as
+ *   atualizacoes de posto 1 de J^-1 sobre essa mesma fatoracao (forma de
+ *   Kelley: guarda apenas os passos s_k), custando O(n^2 + n k) por passo em
+ *   vez de O(n^3). Refatora quando um passo nao reduz ||F|| ou a memoria de
+ *   passos enche.
+ */
+public class SistemaNaoLinear {
+
+    public static final int ITER_MAX_PADRAO = 100;
+
+    // Passos de Broyden guardados antes de refatorar o jacobiano
+    public static final int MEMORIA_BROYDEN = 40;
+
+    // Resultado de newton ou broyden
+    public static class ResultadoSistema {
+        public final double[] solucao;       // ultimo x
+        public final int iteracoes;          // passos executados
+        public final double normaResiduo;    // ||F(x)||_inf final
+        public final boolean convergiu;      // true se ||F(x)||_inf <= tol
+        public final int fatoracoes;         // fatoracoes LU do jacobiano
+        public final int avaliacoesF;        // avaliacoes de F (vetor inteiro)
+        public final int avaliacoesJacobiano;
+
+        ResultadoSistema(double[] solucao, int iteracoes, double normaResiduo, boolean convergiu,
+                         int fatoracoes, int avaliacoesF, int avaliacoesJacobiano) {
+            this.solucao = solucao;
+            this.iteracoes = iteracoes;
+            this.normaResiduo = normaResiduo;
+            this.convergiu = convergiu;
+            this.fatoracoes = fatoracoes;
+            this.avaliacoesF = avaliacoesF;
+            this.avaliacoesJacobiano = avaliacoesJacobiano;
+        }
+    }
+
+    private final int n;
+    private final String[] variaveis;
+    private final ExprMulti[] equacoes;
+    private final ExprMulti[][] derivadas;  // null onde a derivada e constante
+    private final double[][] constantes;    // valor das derivadas constantes
+
+    // Contadores da ultima resolucao
+    private int fatoracoes, avaliacoesF, avaliacoesJacobiano;
+
+    /**
+     * @param equacoes expressoes F_i, cada uma igualada a zero
+     * @param variaveis nomes das variaveis; se nenhum for dado, x1..xn
+     * @throws ErroExpressao se alguma equacao for invalida
+     */
+    public SistemaNaoLinear(String[] equacoes, String... variaveis) {
+        this.n = equacoes.length;
+        if (n == 0) {
+            throw new IllegalArgumentException("O sistema deve ter pelo menos uma equacao.");
+        }
+        if (variaveis.length == 0) {
+            variaveis = new String[n];
+            for (int i = 0; i < n; i++) variaveis[i] = "x" + (i + 1);
+        }
+        if (variaveis.length != n) {
+            throw new IllegalArgumentException("Dimensoes invalidas: " + n + " equacoes e "
+                    + variaveis.length + " variaveis.");
+        }
+        this.variaveis = variaveis.clone();
+        this.equacoes = new ExprMulti[n];
+        this.derivadas = new ExprMulti[n][n];
+        this.constantes = new double[n][n];
+        for (int i = 0; i < n; i++) {
+            this.equacoes[i] = new ExprMulti(equacoes[i], this.variaveis);
+            for (int k = 0; k < n; k++) {
+                ExprMulti d = this.equacoes[i].derivada(k);
+                if (d.constante()) {
+                    constantes[i][k] = d.eval(new double[n]);
+                } else {
+                    derivadas[i][k] = d;
+                }
+            }
+        }
+    }
+
+    public int ordem() {
+        return n;
+    }
+
+    public String[] getVariaveis() {
+        return variaveis.clone();
+    }
+
+    // F(x)
+    public double[] residuo(double[] x) {
+        validarDimensao(x);
+        double[] f = new double[n];
+        for (int i = 0; i < n; i++) f[i] = equacoes[i].eval(x);
+        return f;
+    }
+
+    // J(x)[i][k] = dF_i/dx_k
+    public double[][] jacobiano(double[] x) {
+        validarDimensao(x);
+        double[][] J = new double[n][];
+        for (int i = 0; i < n; i++) {
+            J[i] = constantes[i].clone();
+            for (int k = 0; k < n; k++) {
+                if (derivadas[i][k] != null) J[i][k] = derivadas[i][k].eval(x);
+            }
+        }
+        return J;
+    }
+
+    private void validarDimensao(double[] x) {
+        if (x.length != n) {
+            throw new IllegalArgumentException("Dimensoes invalidas: x deve ter tamanho " + n + ".");
+        }
+    }
+
+    public ResultadoSistema newton(double[] x0, double tol) {
+        return newton(x0, tol, ITER_MAX_PADRAO);
+    }
+
+    /**
+     * Newton com busca linear: uma fatoracao LU de J(x) por iteracao.
+     * @param x0 aproximacao inicial (nao e alterada)
+     * @param tol para quando ||F(x)||_inf <= tol
+     * @throws ArithmeticException se J(x) for singular
+     */
+    public ResultadoSistema newton(double[] x0, double tol, int iterMax) {
+        zerarContadores();
+        double[] x = x0.clone();
+        double[] f = avaliarF(x);
+        for (int iter = 0; iter < iterMax; iter++) {
+            if (normaInf(f) <= tol) return resultado(x, f, iter, tol);
+            LUFactorization lu = fatorarJacobiano(x);
+            double[] s = lu.solve(negativo(f));
+            double[][] passo = buscaLinear(x, f, s);
+            if (passo == null) return resultado(x, f, iter + 1, tol);
+            x = passo[0];
+            f = passo[1];
+        }
+        return resultado(x, f, iterMax, tol);
+    }
+
+    public ResultadoSistema broyden(double[] x0, double tol) {
+        return broyden(x0, tol, ITER_MAX_PADRAO);
+    }
+
+    /**
+     * Broyden com a fatoracao de J reaproveitada entre iteracoes.
+     * Passo k (Kelley, brsol): z = -J0^-1 F(x);
+     * z += s_{j+1} (s_j . z) / ||s_j||^2 para j = 0..k-1;  s_{k+1} = z / (1 - s_k . z / ||s_k||^2).
+     * Se o passo nao reduz ||F||, refatora J no x atual e faz um passo de
+     * Newton com busca linear.
+     * @throws ArithmeticException se J(x) for singular
+     */
+    public ResultadoSistema broyden(double[] x0, double tol, int iterMax) {
+        zerarContadores();
+        double[] x = x0.clone();
+        double[] f = avaliarF(x);
+        LUFactorization lu = null;
+        boolean fresca = false; // lu e J do x atual e nao ha passos guardados
+        List<double[]> passos = new ArrayList<>();
+        List<Double> normas = new ArrayList<>(); // ||s_j||^2
+
+        for (int iter = 0; iter < iterMax; iter++) {
+            if (normaInf(f) <= tol) return resultado(x, f, iter, tol);
+            if (lu == null) {
+                lu = fatorarJacobiano(x);
+                fresca = true;
+                passos.clear();
+                normas.clear();
+            }
+            double[] s = passoBroyden(lu, f, passos, normas);
+            if (s != null) {
+                double[] xn = somar(x, 1.0, s);
+                double[] fn = avaliarF(xn);
+                if (reduziu(fn, f, 1.0)) {
+                    passos.add(s);
+                    normas.add(produto(s, s));
+                    x = xn;
+                    f = fn;
+                    fresca = false;
+                    if (passos.size() > MEMORIA_BROYDEN) lu = null;
+                    continue;
+                }
+            }
+            // Passo ruim: volta a Newton no x atual
+            if (!fresca) {
+                lu = fatorarJacobiano(x);
+                passos.clear();
+                normas.clear();
+            }
+            fresca = false;
+            double[] sn = lu.solve(negativo(f));
+            double[][] passo = buscaLinear(x, f, sn);
+            if (passo == null) return resultado(x, f, iter + 1, tol);
+            // passo completo de Newton serve como s_0 para os proximos
+            if (passo[2][0] == 1.0) {
+                passos.add(sn);
+                normas.add(produto(sn, sn));
+            }
+            x = passo[0];
+            f = passo[1];
+        }
+        return resultado(x, f, iterMax, tol);
+    }
+
+    // -H F pela formula de Kelley; null se o denominador for ~0
+    private static double[] passoBroyden(LUFactorization lu, double[] f,
+                                         List<double[]> passos, List<Double> normas) {
+        double[] z = lu.solve(negativo(f));
+        int k = passos.size();
+        if (k == 0) return z;
+        for (int j = 0; j < k - 1; j++) {
+            double c = produto(passos.get(j), z) / normas.get(j);
+            double[] prox = passos.get(j + 1);
+            for (int i = 0; i < z.length; i++) z[i] += c * prox[i];
+        }
+        double denom = 1.0 - produto(passos.get(k - 1), z) / normas.get(k - 1);
+        if (!(Math.abs(denom) > 1e-12)) return null;
+        for (int i = 0; i < z.length; i++) z[i] /= denom;
+        return z;
+    }
+
+    /**
+     * Busca linear: tenta x + lambda s com lambda = 1, 1/2, 1/4, ... ate
+     * ||F|| cair (Armijo). Devolve {x novo, F novo, {lambda}} ou null.
+     */
+    private double[][] buscaLinear(double[] x, double[] f, double[] s) {
+        double lambda = 1.0;
+        for (int t = 0; t < 30; t++) {
+            double[] xn = somar(x, lambda, s);
+            double[] fn = avaliarF(xn);
+            if (reduziu(fn, f, lambda)) return new double[][] {xn, fn, {lambda}};
+            lambda *= 0.5;
+        }
+        return null;
+    }
+
+    // ||fn||_2 <= (1 - 1e-4 lambda) ||f||_2, com fn finito
+    private static boolean reduziu(double[] fn, double[] f, double lambda) {
+        double a = produto(fn, fn);
+        return Double.isFinite(a) && Math.sqrt(a) <= (1.0 - 1e-4 * lambda) * Math.sqrt(produto(f, f));
+    }
+
+    private LUFactorization fatorarJacobiano(double[] x) {
+        avaliacoesJacobiano++;
+        fatoracoes++;
+        return LUFactorization.fatorar(jacobiano(x));
+    }
+
+    private double[] avaliarF(double[] x) {
+        avaliacoesF++;
+        return residuo(x);
+    }
+
+    private void zerarContadores() {
+        fatoracoes = 0;
+        avaliacoesF = 0;
+        avaliacoesJacobiano = 0;
+    }
+
+    private ResultadoSistema resultado(double[] x, double[] f, int iteracoes, double tol) {
+        double norma = normaInf(f);
+        return new ResultadoSistema(x, iteracoes, norma, norma <= tol,
+                fatoracoes, avaliacoesF, avaliacoesJacobiano);
+    }
+
+    private static double normaInf(double[] v) {
+        double m = 0.0;
+        for (double a : v) {
+            if (Double.isNaN(a)) return Double.NaN;
+            m = Math.max(m, Math.abs(a));
+        }
+        return m;
+    }
+
+    private static double produto(double[] a, double[] b) {
+        double s = 0.0;
+        for (int i = 0; i < a.length; i++) s += a[i] * b[i];
+        return s;
+    }
+
+    private static double[] negativo(double[] v) {
+        double[] r = new double[v.length];
+        for (int i = 0; i < v.length; i++) r[i] = -v[i];
+        return r;
+    }
+
+    // x + lambda s
+    private static double[] somar(double[] x, double lambda, double[] s) {
+        double[] r = new double[x.length];
+        for (int i = 0; i < x.length; i++) r[i] = x[i] + lambda * s[i];
+        return r;
+    }
+}
@@ -0,0 +1,345 @@
+package backend;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.DoubleUnaryOperator;
+
+/**
+ * Varredura adaptativa de raizes: substitui as passadas de passo fixo
+ * (1.0 e depois 0.1) de escanearIntervalo.
+ *
+ * Comeca numa grade grossa (CELULAS_INICIAIS celulas, avaliada em lote) e
+ * divide ao meio so as celulas que ainda podem esconder raizes. Cada celula
+ * guarda f nas pontas, entao nenhum ponto e avaliado duas vezes: o meio de
+ * uma celula vira ponta das duas metades, e o refinamento (um MetodoRaiz,
+ * NewtonBisseccao por padrao) recebe f(a) e f(b) ja calculados.
+ *
+ * Uma celula [a, b] para de ser dividida quando:
+ *  - f' nao tem zero em [a, b] (faixa intervalar de f'): f e monotona, tem
+ *    no maximo uma raiz, e a troca de sinal das pontas decide;
+ *  - min(|f(a)|, |f(b)|) > L (b - a) / 2, com L o maior |f'| em [a, b]:
+ *    f nao consegue chegar a zero a partir das pontas;
+ *  - a faixa intervalar de f nao contem zero;
+ *  - a largura chega a tol.
+ * Os testes seguem essa ordem: f' primeiro, porque numa celula monotona a
+ * faixa de f nao acrescenta nada, e a faixa de f nem e calculada quando as
+ * pontas ja trocam de sinal (ela contem zero). Cada avaliacao intervalar
+ * custa mais que uma pontual; getAvaliacoesIntervalares conta as duas de f
+ * e f' separadamente de getAvaliacoes.
+ * Assim a grade so fica fina onde |f| e pequeno perto da curvatura (f'
+ * muda de sinal), e regioes monotonas ou longe do zero custam uma celula;
+ * raizes duplas e pares de raizes proximas sao perseguidos ate tol.
+ * Se f tem saltos (sign, floor, ceil), f' nao vale e so a faixa de f e usada.
+ *
+ * As celulas sao independentes: com um ForkJoinPool, as subarvores de
+ * divisao ate PROFUNDIDADE_PARALELA viram tarefas. Cada tarefa junta as suas
+ * raizes em ordem e a lista final e montada da esquerda para a direita; as
+ * raizes repetidas nas fronteiras das celulas so sao removidas nessa lista
+ * final, do mesmo jeito nos dois modos. Por isso o resultado e identico ao
+ * da busca sequencial (salvo se MAX_DIVISOES for atingido: a ordem de
+ * chegada ao limite depende das threads).
+ * Com um ControleBusca a busca pode ser cancelada ou limitada (tempo,
+ * avaliacoes): as celulas restantes sao abandonadas e as raizes achadas ate
+ * ali sao devolvidas; cada raiz e avisada assim que e achada.
+ * Uma instancia faz uma busca por vez.
+ */
+public class VarreduraRaizes {
+
+    public static final int CELULAS_INICIAIS = 8;
+
+    // Limite de celulas divididas por busca (funcoes muito oscilantes)
+    public static final int MAX_DIVISOES = 200_000;
+
+    // Celulas ate esta profundidade de divisao viram tarefas do pool
+    private static final int PROFUNDIDADE_PARALELA = 4;
+
+    // |f| abaixo disto num ponto avaliado conta como raiz exata
+    private static final double ZERO = 1e-12;
+
+    private final BisseccaoSwing.Expr f, df;
+    private final DoubleUnaryOperator fCompilada, dfCompilada;
+    private final boolean continua;
+    private final MetodoRaiz metodo;
+
+    // Parametros e contadores da busca atual
+    private double largMin, tol;
+    private int iterMax;
+    private ForkJoinPool pool;
+    private ControleBusca controle;
+    private final AtomicInteger divisoes = new AtomicInteger();
+    private int avaliacoes, avaliacoesIntervalares;
+
+    VarreduraRaizes(BisseccaoSwing.Expr f) {
+        this(f, new NewtonBisseccao());
+    }
+
+    // metodo: refinamento de cada troca de sinal (o tempo de cada raiz e medido)
+    VarreduraRaizes(BisseccaoSwing.Expr f, MetodoRaiz metodo) {
+        this.metodo = metodo;
+        this.f = f;
+        this.df = f.derivada();
+        this.fCompilada = f.compilar();
+        this.dfCompilada = df.compilar();
+        this.continua = !IsoladorIntervalar.temSalto(f);
+    }
+
+    // Raizes e contadores de um trecho do dominio, na ordem de x
+    private static final class Trecho {
+        final List<ResultadoRaiz> raizes = new ArrayList<>();
+        final List<Double> ligadas = new ArrayList<>(); // a de cada celula final com f(a) = f(b) = 0
+        int avaliacoes, avaliacoesIntervalares;
+
+        void juntar(Trecho o) {
+            raizes.addAll(o.raizes);
+            ligadas.addAll(o.ligadas);
+            avaliacoes += o.avaliacoes;
+            avaliacoesIntervalares += o.avaliacoesIntervalares;
+        }
+    }
+
+    // Examina uma celula como tarefa do pool
+    private final class TarefaCelula extends RecursiveTask<Trecho> {
+        private static final long serialVersionUID = 1L;
+        private final double a, fa, b, fb;
+        private final int profundidade;
+
+        TarefaCelula(double a, double fa, double b, double fb, int profundidade) {
+            this.a = a;
+            this.fa = fa;
+            this.b = b;
+            this.fb = fb;
+            this.profundidade = profundidade;
+        }
+
+        @Override
+        protected Trecho compute() {
+            Trecho t = new Trecho();
+            examinar(a, fa, b, fb, profundidade, t);
+            return t;
+        }
+    }
+
+    /**
+     * Raizes de f em [inicio, fim], em ordem crescente, na thread atual.
+     * Raizes exatas em pontos avaliados vem com a == b (ver ResultadoRaiz.toString).
+     * @param tol tolerancia do refinamento (e largura minima das celulas)
+     */
+    List<ResultadoRaiz> raizes(double inicio, double fim, double tol, int iterMax) {
+        return raizes(inicio, fim, tol, iterMax, null);
+    }
+
+    /**
+     * Como raizes(inicio, fim, tol, iterMax), com as celulas divididas entre
+     * as threads de pool; o resultado e o mesmo da versao sequencial.
+     * @param pool pool a usar; null busca tudo na thread atual
+     */
+    List<ResultadoRaiz> raizes(double inicio, double fim, double tol, int iterMax, ForkJoinPool pool) {
+        return raizes(inicio, fim, tol, iterMax, pool, null);
+    }
+
+    /**
+     * Como raizes(inicio, fim, tol, iterMax, pool), consultando controle
+     * (cancelamento, limites, avisos de raizes e de progresso).
+     * @param controle null busca ate o fim, sem avisos
+     */
+    List<ResultadoRaiz> raizes(double inicio, double fim, double tol, int iterMax, ForkJoinPool pool,
+                               ControleBusca controle) {
+        this.controle = controle;
+        this.largMin = Math.max(tol, 1e-12 * Math.max(Math.abs(inicio), Math.abs(fim)));
+        this.tol = tol;
+        this.iterMax = iterMax;
+        this.pool = pool;
+        divisoes.set(0);
+
+        double[] xs = new double[CELULAS_INICIAIS + 1];
+        double[] fs = new double[xs.length];
+        for (int i = 0; i <= CELULAS_INICIAIS; i++) {
+            xs[i] = i == CELULAS_INICIAIS ? fim : inicio + (fim - inicio) * i / CELULAS_INICIAIS;
+        }
+        f.evalMany(xs, fs);
+        double[] brutos = fs.clone();
+        for (int i = 0; i <= CELULAS_INICIAIS; i++) fs[i] = zerar(fs[i]);
+        if (controle != null) {
+            controle.iniciar(fim - inicio);
+            controle.avaliou(xs.length);
+            for (int i = 0; i <= CELULAS_INICIAIS; i++) {
+                if (fs[i] == 0.0) controle.achou(exata(xs[i], brutos[i]));
+            }
+        }
+
+        Trecho[] celulas = new Trecho[CELULAS_INICIAIS];
+        if (pool != null) {
+            List<TarefaCelula> tarefas = new ArrayList<>();
+            for (int i = 0; i < CELULAS_INICIAIS; i++) {
+                tarefas.add(new TarefaCelula(xs[i], fs[i], xs[i + 1], fs[i + 1], 0));
+            }
+            pool.invoke(ForkJoinTask.adapt(() -> ForkJoinTask.invokeAll(tarefas)));
+            for (int i = 0; i < CELULAS_INICIAIS; i++) celulas[i] = tarefas.get(i).join();
+        } else {
+            for (int i = 0; i < CELULAS_INICIAIS; i++) {
+                celulas[i] = new Trecho();
+                examinar(xs[i], fs[i], xs[i + 1], fs[i + 1], 0, celulas[i]);
+            }
+        }
+
+        Trecho total = new Trecho();
+        total.avaliacoes = xs.length;
+        for (int i = 0; i <= CELULAS_INICIAIS; i++) {
+            if (i > 0) total.juntar(celulas[i - 1]);
+            if (fs[i] == 0.0) total.raizes.add(exata(xs[i], brutos[i]));
+        }
+        avaliacoes = total.avaliacoes;
+        avaliacoesIntervalares = total.avaliacoesIntervalares;
+        return semRepetidas(total.raizes, total.ligadas);
+    }
+
+    // Processa [a, b]; as raizes saem em t da esquerda para a direita
+    private void examinar(double a, double fa, double b, double fb, int profundidade, Trecho t) {
+        if (controle != null && controle.parar()) return;
+        Intervalo x = Intervalo.de(a, b);
+        boolean troca = fa * fb < 0;
+        // f' primeiro: numa celula monotona a faixa de f nao acrescenta nada
+        if (continua) {
+            Intervalo dx = df.evalIntervalo(x);
+            t.avaliacoesIntervalares++;
+            if (!dx.vazio() && !dx.contemZero()) {
+                // monotona: no maximo uma raiz
+                if (troca) refinar(a, fa, b, fb, false, t);
+                concluir(a, fa, b, fb, t);
+                return;
+            }
+            double lipschitz = Math.max(Math.abs(dx.inf), Math.abs(dx.sup));
+            if (Math.min(Math.abs(fa), Math.abs(fb)) > lipschitz * 0.5 * (b - a)) {
+                concluir(a, fa, b, fb, t);
+                return;
+            }
+        }
+        // com troca de sinal nas pontas a faixa de f contem zero: nao precisa avaliar
+        Intervalo fx = null;
+        if (!troca) {
+            fx = f.evalIntervalo(x);
+            t.avaliacoesIntervalares++;
+            if (!fx.contemZero()) {
+                concluir(a, fa, b, fb, t);
+                return;
+            }
+        }
+
+        double m = 0.5 * (a + b);
+        if (b - a <= largMin || !(m > a && m < b) || divisoes.get() >= MAX_DIVISOES) {
+            // troca de sinal sem monotonia provada pode ser um polo ou um salto
+            if (troca) {
+                boolean descontinua = !continua;
+                if (!descontinua) {
+                    fx = f.evalIntervalo(x);
+                    t.avaliacoesIntervalares++;
+                    descontinua = Double.isInfinite(fx.largura());
+                }
+                refinar(a, fa, b, fb, descontinua, t);
+            } else if (continua && fa != 0.0 && fb != 0.0 && Math.min(Math.abs(fa), Math.abs(fb)) <= tol) {
+                // f' ainda pode ser zero aqui: extremo tocando o zero (raiz dupla);
+                // ponta com f = 0 ja foi anotada como raiz exata
+                double r = Math.abs(fa) <= Math.abs(fb) ? a : b;
+                anotar(new ResultadoRaiz(r, r == a ? fa : fb, a, b, 0, 0, true), t);
+            }
+            concluir(a, fa, b, fb, t);
+            return;
+        }
+        double bruto = fCompilada.applyAsDouble(m);
+        double fm = zerar(bruto);
+        t.avaliacoes++;
+        if (controle != null) controle.avaliou(1);
+        divisoes.incrementAndGet();
+        if (pool != null && profundidade < PROFUNDIDADE_PARALELA) {
+            TarefaCelula esquerda = new TarefaCelula(a, fa, m, fm, profundidade + 1);
+            TarefaCelula direita = new TarefaCelula(m, fm, b, fb, profundidade + 1);
+            ForkJoinTask.invokeAll(esquerda, direita);
+            t.juntar(esquerda.join());
+            if (fm == 0.0) anotar(exata(m, bruto), t);
+            t.juntar(direita.join());
+        } else {
+            examinar(a, fa, m, fm, profundidade + 1, t);
+            if (fm == 0.0) anotar(exata(m, bruto), t);
+            examinar(m, fm, b, fb, profundidade + 1, t);
+        }
+    }
+
+    // Refina com as pontas ja conhecidas; descontinua: so aceita |f| <= tol
+    private void refinar(double a, double fa, double b, double fb, boolean descontinua, Trecho t) {
+        ResultadoRaiz r = metodo.resolverMedindo(fCompilada, dfCompilada, a, b, fa, fb, tol, iterMax);
+        t.avaliacoes += r.avaliacoes;
+        if (controle != null) controle.avaliou(r.avaliacoes);
+        if (!r.convergiu || (descontinua && !(Math.abs(r.fx) <= tol))) return;
+        anotar(r, t);
+    }
+
+    // Guarda a raiz no trecho e avisa o controle
+    private void anotar(ResultadoRaiz r, Trecho t) {
+        t.raizes.add(r);
+        if (controle != null) controle.achou(r);
+    }
+
+    // [a, b] foi examinado por completo: liga as pontas zeradas e avisa o progresso
+    private void concluir(double a, double fa, double b, double fb, Trecho t) {
+        if (fa == 0.0 && fb == 0.0) t.ligadas.add(a);
+        if (controle != null) controle.cobriu(b - a);
+    }
+
+    // Perto de uma raiz de multiplicidade par f fica zerada (ou abaixo de tol)
+    // em toda uma sequencia de pontos, e cada ponto ou celula anota a mesma
+    // raiz. Uma sequencia de pontos zerados ligados por celulas finais,
+    // intervalos que se tocam ou raizes a menos de 2 largMin viram uma raiz
+    // so: a de menor |f| (no empate, a do meio).
+    private List<ResultadoRaiz> semRepetidas(List<ResultadoRaiz> todas, List<Double> ligadas) {
+        Set<Double> ligadasEm = new HashSet<>(ligadas);
+        List<ResultadoRaiz> raizes = new ArrayList<>();
+        List<ResultadoRaiz> grupo = new ArrayList<>();
+        double fimGrupo = Double.NEGATIVE_INFINITY;
+        for (ResultadoRaiz r : todas) {
+            if (!grupo.isEmpty()) {
+                ResultadoRaiz anterior = grupo.get(grupo.size() - 1);
+                boolean mesma = r.a <= fimGrupo || ligadasEm.contains(fimGrupo)
+                        || r.raiz - anterior.raiz <= 2 * largMin;
+                if (!mesma) {
+                    raizes.add(ResultadoRaiz.menorResiduo(grupo));
+                    grupo.clear();
+                }
+            }
+            if (grupo.isEmpty()) fimGrupo = r.b;
+            grupo.add(r);
+            fimGrupo = Math.max(fimGrupo, r.b);
+        }
+        if (!grupo.isEmpty()) raizes.add(ResultadoRaiz.menorResiduo(grupo));
+        return raizes;
+    }
+
+    // |f| < ZERO vira 0: raiz exata, sem troca de sinal falsa com os vizinhos
+    private static double zerar(double fx) {
+        return Math.abs(fx) < ZERO ? 0.0 : fx;
+    }
+
+    private static ResultadoRaiz exata(double x, double fx) {
+        return new ResultadoRaiz(x, fx, x, x, 0, 0, true);
+    }
+
+    // true se MAX_DIVISOES foi atingido (o resultado pode estar incompleto)
+    public boolean isLimiteAtingido() {
+        return divisoes.get() >= MAX_DIVISOES;
+    }
+
+    // Avaliacoes intervalares de f e f' na ultima busca
+    public int getAvaliacoesIntervalares() {
+        return avaliacoesIntervalares;
+    }
+
+    // Avaliacoes pontuais de f e f' na ultima busca (grade, divisoes e refinamento)
+    public int getAvaliacoes() {
+        return avaliacoes;
+    }
+}
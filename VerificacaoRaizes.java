@@ -0,0 +1,49 @@
+package backend;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Verificacao rapida das buscas de raizes em casos que ja deram resultado
+ * errado (raizes repetidas perto de raizes de multiplicidade par).
+ *
+ * Uso: java backend.VerificacaoRaizes
+ * Imprime cada caso e termina com codigo 1 se algum contar raizes demais ou
+ * de menos.
+ */
+public class VerificacaoRaizes {
+
+    private static int falhas;
+
+    public static void main(String[] args) {
+        for (double tol : new double[] {1e-9, 1e-12}) {
+            isolador("x^4-2*x^2+1", -10, 10, tol, 2);
+            varredura("cos(x)-1", -10, 10, tol, 3);
+            varredura("exp(x/10)*(x^4-2*x^2+1)", -10, 10, tol, 2);
+        }
+        if (falhas > 0) {
+            System.out.println(falhas + " caso(s) com falha.");
+            System.exit(1);
+        }
+        System.out.println("Todos os casos conferem.");
+    }
+
+    private static void isolador(String fonte, double a, double b, double tol, int esperadas) {
+        List<ResultadoRaiz> raizes = new IsoladorIntervalar(new BisseccaoSwing.Expr(fonte)).raizes(a, b, tol, 1000);
+        conferir("IsoladorIntervalar", fonte, tol, raizes, esperadas);
+    }
+
+    // Sequencial e com o pool: as duas devem achar o mesmo
+    private static void varredura(String fonte, double a, double b, double tol, int esperadas) {
+        VarreduraRaizes busca = new VarreduraRaizes(new BisseccaoSwing.Expr(fonte));
+        conferir("VarreduraRaizes", fonte, tol, busca.raizes(a, b, tol, 1000), esperadas);
+        conferir("VarreduraRaizes/pool", fonte, tol, busca.raizes(a, b, tol, 1000, ForkJoinPool.commonPool()), esperadas);
+    }
+
+    private static void conferir(String busca, String fonte, double tol, List<ResultadoRaiz> raizes, int esperadas) {
+        boolean ok = raizes.size() == esperadas;
+        if (!ok) falhas++;
+        System.out.printf("%s %-22s %s tol=%.0e: %d raiz(es), esperadas %d%n",
+                ok ? "ok   " : "FALHA", busca, fonte, tol, raizes.size(), esperadas);
+    }
+}
@@ -0,0 +1,35 @@
+package backend;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Ponto de entrada dos benchmarks JMH (sempre com o perfilador de GC, para
+ * que a taxa de alocacao apareca junto do tempo).
+ *
+ * Compilacao (jmh-core e jmh-generator-annprocess no classpath):
+ *   javac -encoding UTF-8 -cp jmh-core.jar:jmh-generator-annprocess.jar -d bench \
+ *         *.java benchmarks/*.java
+ *   java -cp bench:jmh-core.jar:jopt-simple.jar:commons-math3.jar backend.ExecutarBenchmarks
+ *
+ * Aceita as mesmas opcoes de linha de comando do JMH, por exemplo:
+ *   backend.ExecutarBenchmarks GaussBenchmark -p n=1000,2000 -p tipo=aleatoria
+ */
+public class ExecutarBenchmarks {
+
+    public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+        CommandLineOptions linhaComando = new CommandLineOptions(args);
+        ChainedOptionsBuilder opcoes = new OptionsBuilder()
+                .parent(linhaComando)
+                .addProfiler(GCProfiler.class);
+        if (linhaComando.getIncludes().isEmpty()) {
+            opcoes.include("backend\\..*Benchmark");
+        }
+        new Runner(opcoes.build()).run();
+    }
+}
@@ -0,0 +1,132 @@
+package backend;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.function.DoubleUnaryOperator;
+
+/**
+ * Avaliador de expressoes e varredura de raizes da bisseccao.
+ * O corpus vai de um polinomio curto a expressoes com varias funcoes,
+ * multiplicacao implicita e potencias.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ExprBenchmark {
+
+    private static final int PONTOS = 1024;
+
+    @Param({
+        "x^2 - 4",
+        "x^3+8*x^2-4*x-2",
+        "sin(x) - 0.5",
+        "(x-2)(x+3)",
+        "2*pi*x + 0*x^2 + (3+4)",
+        "exp(-x^2/10)*cos(3x) + log(abs(x)+1) - 1",
+        "sqrt(x^2+1)*tan(x/7) - 2sin(x)cos(x) + x^5/1000 - 3x^3/100"
+    })
+    String expressao;
+
+    // false mede a arvore como digitada (sem dobra de constantes, Horner, CSE...)
+    @Param({"true", "false"})
+    boolean simplificar;
+
+    BisseccaoSwing.Expr expr;
+    double[] xs;
+
+    @Setup
+    public void preparar() {
+        expr = new BisseccaoSwing.Expr(expressao, simplificar);
+        xs = new double[PONTOS];
+        for (int i = 0; i < PONTOS; i++) {
+            xs[i] = -100.0 + 200.0 * i / (PONTOS - 1);
+        }
+    }
+
+    // Custo de construir o avaliador a partir do texto
+    @Benchmark
+    public BisseccaoSwing.Expr compilar() {
+        return new BisseccaoSwing.Expr(expressao, simplificar);
+    }
+
+    // Custo por avaliacao de f(x)
+    @Benchmark
+    @OperationsPerInvocation(PONTOS)
+    public void eval(Blackhole bh) {
+        for (double x : xs) {
+            bh.consume(expr.safeEval(x));
+        }
+    }
+
+    // Custo por avaliacao com a classe gerada por Expr.compilar()
+    @Benchmark
+    @OperationsPerInvocation(PONTOS)
+    public void evalCompilada(Blackhole bh) {
+        DoubleUnaryOperator f = expr.compilar();
+        for (double x : xs) {
+            bh.consume(f.applyAsDouble(x));
+        }
+    }
+
+    // Custo por ponto da avaliacao em lote (Expr.evalMany)
+    @Benchmark
+    @OperationsPerInvocation(PONTOS)
+    public double[] evalMany() {
+        double[] out = new double[PONTOS];
+        expr.evalMany(xs, out);
+        return out;
+    }
+
+    // Varredura de passo fixo de [-100, 100] (passos 1.0 e 0.1)
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public List<String> escanearIntervalo() {
+        List<String> raizes = new ArrayList<>();
+        for (double passo : new double[] {1.0, 0.1}) {
+            BisseccaoSwing.escanearIntervalo(expr, -100, 100, passo, 1e-3, 1000, raizes);
+        }
+        return raizes;
+    }
+
+    // Mesma busca com VarreduraRaizes (grade adaptativa, sem reavaliar pontos)
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public List<ResultadoRaiz> varreduraAdaptativa() {
+        return new VarreduraRaizes(expr).raizes(-100, 100, 1e-3, 1000);
+    }
+
+    // Mesma busca com as celulas divididas no pool comum (resultado identico)
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public List<ResultadoRaiz> varreduraParalela() {
+        return new VarreduraRaizes(expr).raizes(-100, 100, 1e-3, 1000, ForkJoinPool.commonPool());
+    }
+
+    // Polinomios: todas as raizes reais por Sturm (vazio para as demais expressoes)
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public List<ResultadoRaiz> raizesPolinomio() {
+        double[] coef = expr.polinomio();
+        if (!RaizesPolinomio.aceita(coef)) return new ArrayList<>();
+        return new RaizesPolinomio(coef).raizes(1e-3, 1000);
+    }
+}
@@ -0,0 +1,68 @@
+package backend;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Solvers densos e em banda sem rastreio de etapas, de n = 3 a n = 4000.
+ * (O solve com todas as etapas esta em GaussEtapasBenchmark, pois aloca O(n^3).)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GaussBenchmark {
+
+    @Param({"3", "10", "100", "500", "1000", "2000", "4000"})
+    int n;
+
+    @Param({"aleatoria", "diagonalDominante", "hilbert", "banda"})
+    String tipo;
+
+    double[][] A;
+    double[] b;
+
+    @Setup
+    public void preparar() {
+        A = Matrizes.gerar(tipo, n);
+        b = Matrizes.vetor(n);
+    }
+
+    @Benchmark
+    public double[] solveSemRastreio() {
+        return GaussEliminacao.solve(A, b, GaussEliminacao.Rastreio.nenhum()).solucao;
+    }
+
+    @Benchmark
+    public double[] solveBlocado() {
+        return GaussEliminacao.solveBlocado(A, b, GaussEliminacao.TAMANHO_BLOCO_PADRAO);
+    }
+
+    @Benchmark
+    public double[] solveParalelo() {
+        return GaussEliminacao.solveParalelo(A, b, null, GaussEliminacao.LIMIAR_PARALELO_PADRAO);
+    }
+
+    @Benchmark
+    public LUFactorization fatorar() {
+        return LUFactorization.fatorar(A);
+    }
+
+    @Benchmark
+    public double[][][] decomposicaoLU() {
+        return GaussEliminacao.decomposicaoLU(A);
+    }
+}
@@ -0,0 +1,53 @@
+package backend;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * solve(A, b) com todas as etapas guardadas (o caminho usado pelas telas).
+ * Limitado a n = 200: as etapas ocupam (n+1) * n^2 doubles.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GaussEtapasBenchmark {
+
+    @Param({"3", "10", "50", "100", "200"})
+    int n;
+
+    @Param({"aleatoria", "diagonalDominante", "hilbert", "banda"})
+    String tipo;
+
+    double[][] A;
+    double[] b;
+
+    @Setup
+    public void preparar() {
+        A = Matrizes.gerar(tipo, n);
+        b = Matrizes.vetor(n);
+    }
+
+    @Benchmark
+    public GaussEliminacao.ResultadoGauss solveCompleto() {
+        return GaussEliminacao.solve(A, b);
+    }
+
+    @Benchmark
+    public GaussEliminacao.ResultadoGauss solveAmostrado() {
+        return GaussEliminacao.solve(A, b, GaussEliminacao.Rastreio.aCada(10));
+    }
+}
@@ -0,0 +1,65 @@
+package backend;
+
+import java.util.Random;
+
+/**
+ * Geradores das classes de matriz usadas nos benchmarks.
+ * Todas sao deterministicas (semente fixa) para que execucoes sejam comparaveis.
+ */
+final class Matrizes {
+
+    private Matrizes() {
+    }
+
+    /**
+     * @param tipo aleatoria | diagonalDominante | hilbert | banda
+     * @param n ordem
+     */
+    static double[][] gerar(String tipo, int n) {
+        Random rnd = new Random(42L + n);
+        double[][] A = new double[n][n];
+        switch (tipo) {
+            case "aleatoria":
+                for (int i = 0; i < n; i++) {
+                    for (int j = 0; j < n; j++) A[i][j] = rnd.nextGaussian();
+                }
+                break;
+            case "diagonalDominante":
+                for (int i = 0; i < n; i++) {
+                    double soma = 0.0;
+                    for (int j = 0; j < n; j++) {
+                        A[i][j] = rnd.nextDouble() - 0.5;
+                        soma += Math.abs(A[i][j]);
+                    }
+                    A[i][i] = soma + 1.0;
+                }
+                break;
+            case "hilbert":
+                // Hilbert + 1e-6 I: mal condicionada, mas sem pivo abaixo de 1e-15 para n grande
+                for (int i = 0; i < n; i++) {
+                    for (int j = 0; j < n; j++) A[i][j] = 1.0 / (i + j + 1);
+                    A[i][i] += 1e-6;
+                }
+                break;
+            case "banda":
+                // Banda (kl, ku) = (2, 3), diagonal reforcada
+                for (int i = 0; i < n; i++) {
+                    for (int j = Math.max(0, i - 2); j <= Math.min(n - 1, i + 3); j++) {
+                        A[i][j] = rnd.nextGaussian();
+                    }
+                    A[i][i] += 6.0;
+                }
+                break;
+            default:
+                throw new IllegalArgumentException("Tipo de matriz desconhecido: " + tipo);
+        }
+        return A;
+    }
+
+    static double[] vetor(int n) {
+        Random rnd = new Random(7L + n);
+        double[] b = new double[n];
+        for (int i = 0; i < n; i++) b[i] = rnd.nextGaussian();
+        return b;
+    }
+}
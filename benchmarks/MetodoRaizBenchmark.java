@@ -0,0 +1,60 @@
+package backend;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Metodos de refinamento (MetodoRaiz) comparados na mesma varredura de
+ * [-100, 100]. As avaliacoes de f por busca aparecem em
+ * VarreduraRaizes.getAvaliacoes; aqui se mede o tempo.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MetodoRaizBenchmark {
+
+    @Param({
+        "x^3+8*x^2-4*x-2",
+        "sin(x) - 0.5",
+        "exp(x/10) - 1000",
+        "exp(-x^2/10)*cos(3x) + log(abs(x)+1) - 1"
+    })
+    String expressao;
+
+    @Param({"Newton-Bisseccao", "Brent", "ITP", "Illinois", "Bisseccao"})
+    String metodo;
+
+    @Param({"1e-3", "1e-10"})
+    double tol;
+
+    VarreduraRaizes varredura;
+
+    @Setup
+    public void preparar() {
+        for (MetodoRaiz m : MetodoRaiz.disponiveis()) {
+            if (m.nome().equals(metodo)) {
+                varredura = new VarreduraRaizes(new BisseccaoSwing.Expr(expressao), m);
+            }
+        }
+    }
+
+    @Benchmark
+    public List<ResultadoRaiz> varredura() {
+        return varredura.raizes(-100, 100, tol, 1000);
+    }
+}